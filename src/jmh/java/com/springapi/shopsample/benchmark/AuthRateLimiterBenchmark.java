@@ -0,0 +1,75 @@
+package com.springapi.shopsample.benchmark;
+
+import com.springapi.shopsample.security.AuthRateLimiter;
+import com.springapi.shopsample.security.TokenBucketRateLimiter;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Measures the cost of the rate limit check done for every login and registration.
+ * Compares a token taken from the bucket of one hot key, from buckets of many keys and a request rejected
+ * by an empty bucket, each on a single thread and on four threads contending for the same buckets.
+ * Also measures the full check of AuthRateLimiter, which takes a token of the client address and of the username.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthRateLimiterBenchmark {
+
+    private static final int KEYS = 10_000;
+
+    private TokenBucketRateLimiter grantingLimiter;
+    private TokenBucketRateLimiter rejectingLimiter;
+    private AuthRateLimiter authRateLimiter;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        // Capacities too large to run out during a measurement, so every request is granted
+        grantingLimiter = new TokenBucketRateLimiter(Integer.MAX_VALUE, Duration.ofNanos(Integer.MAX_VALUE), KEYS * 2);
+        rejectingLimiter = new TokenBucketRateLimiter(1, Duration.ofDays(1), KEYS * 2);
+        rejectingLimiter.acquire("client");
+        authRateLimiter = new AuthRateLimiter(true, Integer.MAX_VALUE, Duration.ofNanos(Integer.MAX_VALUE),
+                Integer.MAX_VALUE, Duration.ofNanos(Integer.MAX_VALUE), KEYS * 2);
+        keys = IntStream.range(0, KEYS).mapToObj(i -> "10.0." + (i / 256) + "." + (i % 256)).toArray(String[]::new);
+    }
+
+    @Benchmark
+    public long acquireHotKey() {
+        return grantingLimiter.acquire("client");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long acquireHotKeyContended() {
+        return grantingLimiter.acquire("client");
+    }
+
+    @Benchmark
+    public long acquireManyKeys() {
+        return grantingLimiter.acquire(keys[ThreadLocalRandom.current().nextInt(KEYS)]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long acquireManyKeysContended() {
+        return grantingLimiter.acquire(keys[ThreadLocalRandom.current().nextInt(KEYS)]);
+    }
+
+    @Benchmark
+    public long acquireRejected() {
+        return rejectingLimiter.acquire("client");
+    }
+
+    @Benchmark
+    public void authAttempt() {
+        authRateLimiter.acquire(keys[ThreadLocalRandom.current().nextInt(KEYS)], "benchmark-user");
+    }
+}
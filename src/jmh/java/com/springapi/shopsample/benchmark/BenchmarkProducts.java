@@ -0,0 +1,45 @@
+package com.springapi.shopsample.benchmark;
+
+import com.springapi.shopsample.dto.product.ProductDto;
+import com.springapi.shopsample.entity.product.ProductEntity;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds product fixtures shared by the benchmarks.
+ */
+final class BenchmarkProducts {
+
+    private BenchmarkProducts() {
+    }
+
+    static ProductDto dto(long id) {
+        ProductDto dto = new ProductDto();
+        dto.setId(id);
+        dto.setName("Product " + id);
+        dto.setDescription("Description of product " + id);
+        dto.setPrice(BigDecimal.valueOf(id * 100 + 99, 2));
+        dto.setImageUrl("https://www.example.com/images/" + id + ".jpg");
+        return dto;
+    }
+
+    static ProductEntity entity(long id) {
+        ProductEntity entity = new ProductEntity();
+        entity.setId(id);
+        entity.setName("Product " + id);
+        entity.setDescription("Description of product " + id);
+        entity.setPrice(BigDecimal.valueOf(id * 100 + 99, 2));
+        entity.setImageUrl("https://www.example.com/images/" + id + ".jpg");
+        return entity;
+    }
+
+    static List<ProductDto> dtos(int count) {
+        List<ProductDto> dtos = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            dtos.add(dto(id));
+        }
+        return dtos;
+    }
+}
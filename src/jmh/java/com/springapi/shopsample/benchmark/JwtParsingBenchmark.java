@@ -0,0 +1,71 @@
+package com.springapi.shopsample.benchmark;
+
+import com.springapi.shopsample.security.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the JWT work done by JwtAuthenticationFilter for a single request.
+ * Compares the former validate-then-extract flow, which built a new parser and
+ * verified the signature twice, with the filter's parseToken: a single verification through
+ * the prebuilt parser with the cache disabled, and a hit in the verified-token cache.
+ * Also measures token generation on its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtParsingBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-that-is-long-enough-for-hs256";
+
+    private SecretKey secretKey;
+    private JwtTokenProvider jwtTokenProvider;
+    private JwtTokenProvider cachingJwtTokenProvider;
+    private Authentication authentication;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        secretKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        jwtTokenProvider = new JwtTokenProvider(SECRET, 3600000, 0);
+        cachingJwtTokenProvider = new JwtTokenProvider(SECRET, 3600000, 10000);
+        authentication = new UsernamePasswordAuthenticationToken(
+                "benchmark", null, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        token = jwtTokenProvider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtTokenProvider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public String legacyValidateThenExtract() {
+        Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token);
+        return Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload().getSubject();
+    }
+
+    @Benchmark
+    public Optional<Claims> parseOnce() {
+        return jwtTokenProvider.parseToken(token);
+    }
+
+    @Benchmark
+    public Optional<Claims> parseCached() {
+        return cachingJwtTokenProvider.parseToken(token);
+    }
+}
@@ -0,0 +1,43 @@
+package com.springapi.shopsample.benchmark;
+
+import com.springapi.shopsample.dto.CountMode;
+import com.springapi.shopsample.dto.PagingDto;
+import com.springapi.shopsample.dto.product.ProductDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the construction of a PagingDto page, with and without an exact total count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PagingDtoBenchmark {
+
+    private static final int TOTAL_COUNT = 100_000;
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private List<ProductDto> items;
+
+    @Setup
+    public void setUp() {
+        items = BenchmarkProducts.dtos(pageSize);
+    }
+
+    @Benchmark
+    public PagingDto<ProductDto> withExactCount() {
+        return new PagingDto<>(items, TOTAL_COUNT, 5, pageSize);
+    }
+
+    @Benchmark
+    public PagingDto<ProductDto> withoutCount() {
+        return new PagingDto<>(items, null, 5, pageSize, true, CountMode.NONE);
+    }
+}
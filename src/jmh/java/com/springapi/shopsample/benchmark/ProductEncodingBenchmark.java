@@ -0,0 +1,81 @@
+package com.springapi.shopsample.benchmark;
+
+import com.springapi.shopsample.dto.PagingDto;
+import com.springapi.shopsample.dto.product.ProductDto;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compares the encodings of a product page offered by the product endpoints: JSON, JSON compressed
+ * with gzip at several levels, CBOR and Smile. The encoded size of each is printed after the run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductEncodingBenchmark {
+
+    private static final int TOTAL_COUNT = 100_000;
+
+    @Param({"json", "json-gzip-1", "json-gzip-6", "json-gzip-9", "cbor", "smile"})
+    private String format;
+
+    @Param({"20", "1000"})
+    private int pageSize;
+
+    private ObjectMapper mapper;
+    private int gzipLevel;
+    private PagingDto<ProductDto> page;
+
+    @Setup
+    public void setUp() {
+        mapper = switch (format) {
+            case "cbor" -> CBORMapper.builder().build();
+            case "smile" -> SmileMapper.builder().build();
+            default -> JsonMapper.builder().build();
+        };
+        gzipLevel = format.startsWith("json-gzip-") ? Integer.parseInt(format.substring("json-gzip-".length())) : -1;
+        page = new PagingDto<>(BenchmarkProducts.dtos(pageSize), TOTAL_COUNT, 0, pageSize);
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.printf("%n%s, %d products: %d bytes%n", format, pageSize, encode().length);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        byte[] encoded = mapper.writeValueAsBytes(page);
+        return gzipLevel < 0 ? encoded : gzip(encoded, gzipLevel);
+    }
+
+    private static byte[] gzip(byte[] bytes, int level) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzipStream = new LeveledGZIPOutputStream(compressed, level)) {
+            gzipStream.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static class LeveledGZIPOutputStream extends GZIPOutputStream {
+
+        LeveledGZIPOutputStream(OutputStream out, int level) throws IOException {
+            super(out);
+            def.setLevel(level);
+        }
+    }
+}
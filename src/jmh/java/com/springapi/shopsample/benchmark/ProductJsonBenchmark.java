@@ -0,0 +1,37 @@
+package com.springapi.shopsample.benchmark;
+
+import com.springapi.shopsample.dto.product.ProductDto;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the Jackson serialization of ProductDto lists of the sizes returned by the product endpoints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductJsonBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    private JsonMapper jsonMapper;
+    private List<ProductDto> products;
+
+    @Setup
+    public void setUp() {
+        jsonMapper = JsonMapper.builder().build();
+        products = BenchmarkProducts.dtos(size);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return jsonMapper.writeValueAsBytes(products);
+    }
+}
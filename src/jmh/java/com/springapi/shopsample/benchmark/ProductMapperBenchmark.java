@@ -0,0 +1,53 @@
+package com.springapi.shopsample.benchmark;
+
+import com.springapi.shopsample.dto.product.ProductDto;
+import com.springapi.shopsample.entity.product.ProductEntity;
+import com.springapi.shopsample.mapper.ProductMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the handwritten ProductMapperImpl with the implementation generated by MapStruct.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductMapperBenchmark {
+
+    private ProductMapper handwrittenMapper;
+    private ProductMapper mapStructMapper;
+    private ProductEntity entity;
+    private ProductDto dto;
+
+    @Setup
+    public void setUp() {
+        handwrittenMapper = new com.springapi.shopsample.mapper.impl.ProductMapperImpl();
+        mapStructMapper = new com.springapi.shopsample.mapper.ProductMapperImpl();
+        entity = BenchmarkProducts.entity(1);
+        dto = BenchmarkProducts.dto(1);
+    }
+
+    @Benchmark
+    public ProductDto handwrittenToDto() {
+        return handwrittenMapper.toDto(entity);
+    }
+
+    @Benchmark
+    public ProductEntity handwrittenToEntity() {
+        return handwrittenMapper.toEntity(dto);
+    }
+
+    @Benchmark
+    public ProductDto mapStructToDto() {
+        return mapStructMapper.toDto(entity);
+    }
+
+    @Benchmark
+    public ProductEntity mapStructToEntity() {
+        return mapStructMapper.toEntity(dto);
+    }
+}
@@ -0,0 +1,72 @@
+package com.springapi.shopsample.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the in-process caches.
+ *
+ * Design decisions:
+ * - Caffeine caches bounded by size and by time to live, with statistics recorded for actuator metrics
+ * - Caches are transaction aware, so an eviction made by a write takes effect only after its transaction commits
+ * - The products cache drops a value loaded while a write evicted it (see EvictionGuardedCaffeineCache),
+ *   so a read racing a write cannot cache the product as it was before the write
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * The name of the cache of products, keyed by product ID.
+     */
+    public static final String PRODUCTS_CACHE = "products";
+
+    /**
+     * The name of the cache of authenticated principals, keyed by username.
+     */
+    public static final String USERS_CACHE = "users";
+
+    @Value("${app.cache.products.maximum-size:10000}")
+    private long productsMaximumSize;
+
+    @Value("${app.cache.products.ttl:10m}")
+    private Duration productsTtl;
+
+    @Value("${app.cache.users.maximum-size:10000}")
+    private long usersMaximumSize;
+
+    @Value("${app.cache.users.ttl:60s}")
+    private Duration usersTtl;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return PRODUCTS_CACHE.equals(name)
+                        ? new EvictionGuardedCaffeineCache(name, cache, isAllowNullValues())
+                        : super.adaptCaffeineCache(name, cache);
+            }
+        };
+        cacheManager.registerCustomCache(PRODUCTS_CACHE, Caffeine.newBuilder()
+                .maximumSize(productsMaximumSize)
+                .expireAfterWrite(productsTtl)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(USERS_CACHE, Caffeine.newBuilder()
+                .maximumSize(usersMaximumSize)
+                .expireAfterWrite(usersTtl)
+                .recordStats()
+                .build());
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
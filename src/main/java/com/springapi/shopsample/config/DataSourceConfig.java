@@ -0,0 +1,69 @@
+package com.springapi.shopsample.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration of the data source when read replicas are configured.
+ * Without {@code app.datasource.replicas.urls} the data source auto-configured by Spring Boot is used unchanged.
+ *
+ * Design decisions:
+ * - Read-only transactions read from the replicas, everything else runs on the primary (see ReplicaRoutingDataSource);
+ *   reads whose result is cached, e.g. ProductService.getById, run on the primary so a lagging replica is never cached
+ * - Every pool is a Hikari pool configured by the {@code spring.datasource.*} properties,
+ *   replicas differ only by their URL and are opened read-only
+ * - Every pool publishes the hikaricp.* metrics tagged by its pool name ("primary", "replica-1", ...)
+ */
+@Configuration
+@ConditionalOnExpression("!'${app.datasource.replicas.urls:}'.isBlank()")
+public class DataSourceConfig {
+
+    @Value("${app.datasource.replicas.urls}")
+    private List<String> replicaUrls;
+
+    @Value("${app.datasource.replicas.max-lag:5s}")
+    private Duration replicaMaxLag;
+
+    @Value("${app.datasource.replicas.lag-check-interval:5s}")
+    private Duration replicaLagCheckInterval;
+
+    @Value("${app.datasource.replicas.lag-query:" + ReplicaRoutingDataSource.DEFAULT_LAG_QUERY + "}")
+    private String replicaLagQuery;
+
+    @Bean
+    public ReplicaRoutingDataSource dataSource(DataSourceProperties properties, Environment environment) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = createPool(properties, binder, properties.determineUrl(), "primary");
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            HikariDataSource replica = createPool(properties, binder, url.strip(), "replica-" + (replicas.size() + 1));
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, replicaMaxLag, replicaLagCheckInterval, replicaLagQuery);
+    }
+
+    private HikariDataSource createPool(DataSourceProperties properties, Binder binder, String url, String poolName) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(poolName);
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(Metrics.globalRegistry));
+        return pool;
+    }
+}
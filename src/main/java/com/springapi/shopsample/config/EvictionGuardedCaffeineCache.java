@@ -0,0 +1,80 @@
+package com.springapi.shopsample.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * EvictionGuardedCaffeineCache is a Caffeine cache that never keeps a value loaded across an eviction.
+ *
+ * A cached method misses, loads the value and puts it. If a write commits and evicts the entry
+ * between the load and the put, a plain cache would keep the value loaded before the write for the whole TTL.
+ * Here every eviction advances a counter, a miss remembers the counter on its thread, and a put that follows
+ * a miss removes its value again when the counter moved in between, so the next read loads the value again.
+ * The value is put before the counter is checked, so an eviction either removes it or is seen by the check.
+ */
+public class EvictionGuardedCaffeineCache extends CaffeineCache {
+
+    private final AtomicLong evictions = new AtomicLong();
+    private final ThreadLocal<Miss> lastMiss = new ThreadLocal<>();
+
+    /**
+     * Constructs a new EvictionGuardedCaffeineCache.
+     *
+     * @param name            the name of the cache
+     * @param cache           the Caffeine cache holding the values
+     * @param allowNullValues whether null values are cached
+     */
+    public EvictionGuardedCaffeineCache(String name, Cache<Object, Object> cache, boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        long evictionsBefore = evictions.get();
+        Object value = super.lookup(key);
+        if (value == null) {
+            lastMiss.set(new Miss(key, evictionsBefore));
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Miss miss = lastMiss.get();
+        lastMiss.remove();
+        super.put(key, value);
+        if (miss != null && miss.key().equals(key) && evictions.get() != miss.evictions()) {
+            // An eviction happened while the value was loaded, it may predate the write that evicted
+            super.evict(key);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        evictions.incrementAndGet();
+        super.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        evictions.incrementAndGet();
+        return super.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        evictions.incrementAndGet();
+        super.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        evictions.incrementAndGet();
+        return super.invalidate();
+    }
+
+    private record Miss(Object key, long evictions) {
+    }
+}
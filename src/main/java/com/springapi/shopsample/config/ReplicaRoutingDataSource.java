@@ -0,0 +1,182 @@
+package com.springapi.shopsample.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ReplicaRoutingDataSource sends the connections of read-only transactions to read replicas
+ * and every other connection to the primary.
+ *
+ * Connections are obtained lazily, on the first statement, so the read-only flag set by a
+ * {@code @Transactional(readOnly = true)} transaction is known when the pool is chosen.
+ * Replicas are used round-robin. A replica is skipped while its replication lag exceeds the configured maximum
+ * or while it cannot be reached; with no replica available, read-only connections fall back to the primary.
+ * The lag of every replica is checked periodically by a background thread. Until its first check,
+ * which runs right after construction on that thread, a replica is unavailable, so an unreachable replica
+ * cannot hold up the startup.
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    /**
+     * The default query returning the replication lag in seconds.
+     * A server that is not in recovery, or has replayed everything it received, has no lag.
+     */
+    public static final String DEFAULT_LAG_QUERY = """
+            SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                        ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+                   END""";
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+    private final String lagQuery;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter fallbacks;
+    private final ScheduledExecutorService lagMonitor;
+
+    /**
+     * Constructs a new ReplicaRoutingDataSource and starts checking the lag of the replicas in the background.
+     *
+     * @param primary          the pool of the primary, used for writes and as the fallback for reads
+     * @param replicas         the pools of the replicas
+     * @param maxLag           the maximum replication lag of a replica still used for reads
+     * @param lagCheckInterval the interval between two lag checks
+     * @param lagQuery         the query returning the replication lag of a replica in seconds
+     */
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas,
+                                    Duration maxLag, Duration lagCheckInterval, String lagQuery) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.maxLag = maxLag;
+        this.lagQuery = lagQuery;
+        this.fallbacks = Counter.builder("datasource.replica.fallbacks")
+                .description("Read-only connections served by the primary because no replica was available")
+                .register(Metrics.globalRegistry);
+        setTargetDataSource(primary);
+        setReadOnlyDataSource(new ReadOnlyDataSource());
+
+        lagMonitor = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("replica-lag-monitor")
+                .daemon()
+                .factory());
+        lagMonitor.scheduleWithFixedDelay(this::refreshReplicaLag,
+                0, lagCheckInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Checks the replication lag of every replica and updates which replicas are available for reads.
+     */
+    public void refreshReplicaLag() {
+        for (Replica replica : replicas) {
+            replica.refreshLag();
+        }
+    }
+
+    /**
+     * Closes the lag monitor and the pools of the primary and of the replicas.
+     */
+    @Override
+    public void close() {
+        lagMonitor.shutdownNow();
+        for (Replica replica : replicas) {
+            replica.dataSource.close();
+        }
+        primary.close();
+    }
+
+    /**
+     * The data source of read-only connections: the next available replica, or the primary if there is none.
+     */
+    private class ReadOnlyDataSource extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            int start = next.getAndIncrement();
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get(Math.floorMod(start + i, replicas.size()));
+                if (replica.available) {
+                    try {
+                        return replica.dataSource.getConnection();
+                    } catch (SQLException e) {
+                        replica.markUnavailable(e);
+                    }
+                }
+            }
+            fallbacks.increment();
+            return primary.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            throw new SQLFeatureNotSupportedException("Connections are obtained with the credentials of the pools");
+        }
+    }
+
+    /**
+     * A replica pool together with its last known replication lag.
+     */
+    private class Replica {
+
+        private final HikariDataSource dataSource;
+        private volatile double lagSeconds = Double.NaN;
+        private volatile boolean available;
+
+        Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+            Gauge.builder("datasource.replica.lag", this, replica -> replica.lagSeconds)
+                    .description("Replication lag of the replica, NaN if it cannot be reached")
+                    .baseUnit("seconds")
+                    .tag("pool", dataSource.getPoolName())
+                    .register(Metrics.globalRegistry);
+            Gauge.builder("datasource.replica.available", this, replica -> replica.available ? 1 : 0)
+                    .description("Whether the replica serves read-only connections")
+                    .tag("pool", dataSource.getPoolName())
+                    .register(Metrics.globalRegistry);
+        }
+
+        void refreshLag() {
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                resultSet.next();
+                lagSeconds = resultSet.getDouble(1);
+                boolean withinMaxLag = lagSeconds * 1000 <= maxLag.toMillis();
+                if (withinMaxLag != available) {
+                    logger.info("Replica {} is {} (lag {} s)", dataSource.getPoolName(),
+                            withinMaxLag ? "available" : "lagging behind", lagSeconds);
+                }
+                available = withinMaxLag;
+            } catch (SQLException e) {
+                markUnavailable(e);
+            }
+        }
+
+        void markUnavailable(SQLException e) {
+            if (available || !Double.isNaN(lagSeconds)) {
+                logger.warn("Replica {} is unavailable: {}", dataSource.getPoolName(), e.getMessage());
+            }
+            lagSeconds = Double.NaN;
+            available = false;
+        }
+    }
+}
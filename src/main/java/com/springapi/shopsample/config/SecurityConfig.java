@@ -1,5 +1,6 @@
 package com.springapi.shopsample.config;
 
+import com.springapi.shopsample.security.BoundedPasswordEncoder;
 import com.springapi.shopsample.security.JwtAuthenticationEntryPoint;
 import com.springapi.shopsample.security.JwtAuthenticationFilter;
 import org.springframework.beans.factory.annotation.Value;
@@ -16,7 +17,7 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
-import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.session.SessionManagementFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -33,6 +34,8 @@ import java.util.List;
  * - Public read access to products (GET), write operations require authentication
  * - Actuator health endpoint public, all other actuator endpoints require ADMIN role
  * - Swagger/OpenAPI endpoints remain public for developer convenience
+ * - Passwords are hashed on a bounded pool of threads, so a burst of logins cannot take the CPU of all other requests
+ * - Bearer tokens are verified only for requests whose authorization needs the user, not for public reads
  */
 @Configuration
 @EnableWebSecurity
@@ -45,6 +48,12 @@ public class SecurityConfig {
     @Value("${app.cors.allowed-origins:http://localhost:3000}")
     private String allowedOrigins;
 
+    @Value("${app.security.password-hashing.threads:0}")
+    private int passwordHashingThreads;
+
+    @Value("${app.security.password-hashing.queue-capacity:64}")
+    private int passwordHashingQueueCapacity;
+
     public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter,
                           JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
@@ -85,7 +94,9 @@ public class SecurityConfig {
                         .anyRequest().authenticated()
                 )
                 .exceptionHandling(ex -> ex.authenticationEntryPoint(jwtAuthenticationEntryPoint))
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                // After the session management filter, which reads the authentication of every request:
+                // the JWT filter defers the token verification until the authorization asks for the user
+                .addFilterAfter(jwtAuthenticationFilter, SessionManagementFilter.class);
 
         return http.build();
     }
@@ -107,7 +118,11 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        // By default half of the processors hash passwords, the other half stays free for the other requests
+        int threads = passwordHashingThreads > 0
+                ? passwordHashingThreads
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), threads, passwordHashingQueueCapacity);
     }
 
     @Bean
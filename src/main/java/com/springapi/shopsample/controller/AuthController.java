@@ -4,6 +4,7 @@ import com.springapi.shopsample.dto.ApiErrorDto;
 import com.springapi.shopsample.dto.auth.AuthResponseDto;
 import com.springapi.shopsample.dto.auth.LoginRequestDto;
 import com.springapi.shopsample.dto.auth.RegisterRequestDto;
+import com.springapi.shopsample.security.AuthRateLimiter;
 import com.springapi.shopsample.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,6 +12,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -23,6 +25,7 @@ import org.springframework.web.bind.annotation.RestController;
 /**
  * REST controller for authentication endpoints (login and registration).
  * All endpoints are publicly accessible (configured in SecurityConfig).
+ * Every attempt is rate limited per client address and per username before the credentials are checked.
  */
 @RestController
 @AllArgsConstructor
@@ -31,6 +34,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class AuthController {
 
     private final AuthService authService;
+    private final AuthRateLimiter authRateLimiter;
 
     @Operation(summary = "Login", description = "Authenticates a user and returns a JWT token.")
     @ApiResponses(value = {
@@ -40,9 +44,17 @@ public class AuthController {
             @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid credentials.",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ApiErrorDto.class))),
+            @ApiResponse(responseCode = "429", description = "Too Many Requests - Too many attempts from the client or for the username, retry after the time in Retry-After.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorDto.class))),
+            @ApiResponse(responseCode = "503", description = "Service Unavailable - Too many concurrent authentication requests, retry after the time in Retry-After.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorDto.class))),
     })
     @PostMapping(value = "/login", produces = "application/json", consumes = "application/json")
-    public ResponseEntity<AuthResponseDto> login(@Valid @RequestBody LoginRequestDto request) {
+    public ResponseEntity<AuthResponseDto> login(@Valid @RequestBody LoginRequestDto request,
+                                                 HttpServletRequest servletRequest) {
+        authRateLimiter.acquire(servletRequest.getRemoteAddr(), request.getUsername());
         return ResponseEntity.ok(authService.login(request));
     }
 
@@ -54,9 +66,17 @@ public class AuthController {
             @ApiResponse(responseCode = "409", description = "Conflict - Username or email already exists.",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ApiErrorDto.class))),
+            @ApiResponse(responseCode = "429", description = "Too Many Requests - Too many attempts from the client or for the username, retry after the time in Retry-After.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorDto.class))),
+            @ApiResponse(responseCode = "503", description = "Service Unavailable - Too many concurrent authentication requests, retry after the time in Retry-After.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorDto.class))),
     })
     @PostMapping(value = "/register", produces = "application/json", consumes = "application/json")
-    public ResponseEntity<AuthResponseDto> register(@Valid @RequestBody RegisterRequestDto request) {
+    public ResponseEntity<AuthResponseDto> register(@Valid @RequestBody RegisterRequestDto request,
+                                                    HttpServletRequest servletRequest) {
+        authRateLimiter.acquire(servletRequest.getRemoteAddr(), request.getUsername());
         return ResponseEntity.status(HttpStatus.CREATED).body(authService.register(request));
     }
 }
\ No newline at end of file
@@ -1,12 +1,21 @@
 package com.springapi.shopsample.controller;
 
+import com.springapi.shopsample.dto.BatchResultDto;
+import com.springapi.shopsample.dto.BulkDeleteResultDto;
+import com.springapi.shopsample.dto.CountMode;
+import com.springapi.shopsample.dto.CursorPagingDto;
 import com.springapi.shopsample.dto.PagingDto;
 import com.springapi.shopsample.dto.product.ProductDto;
 import com.springapi.shopsample.dto.product.ProductDescriptionUpdateRequestDto;
+import com.springapi.shopsample.dto.product.ProductFilterDto;
+import com.springapi.shopsample.dto.product.ProductSortField;
 import com.springapi.shopsample.exception.ResourceConflictException;
 import com.springapi.shopsample.exception.ResourceNotFoundException;
+import com.springapi.shopsample.service.ProductCatalogSnapshot;
+import com.springapi.shopsample.service.ProductCatalogVersion;
 import com.springapi.shopsample.service.ProductService;
 import com.springapi.shopsample.dto.ApiErrorDto;
+import com.springapi.shopsample.util.CursorCodec;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,13 +23,32 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.SequenceWriter;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @RestController
 @AllArgsConstructor
@@ -28,13 +56,24 @@ import java.util.Optional;
 @Tag(name = "Products", description = "API for managing products.")
 public class ProductController {
 
+    private static final String EXPORT_FORMAT_NDJSON = "ndjson";
+    private static final String EXPORT_FORMAT_JSON = "json";
+    // Larger pages belong to the export; the bound also keeps the extra row of keyset paging from overflowing
+    private static final int MAX_PAGE_SIZE = 100;
+    // The export outlives the default async request timeout, it lasts as long as the catalog takes to write
+    private static final Duration EXPORT_TIMEOUT = Duration.ofMinutes(30);
+
     private final ProductService productService;
+    private final ProductCatalogVersion catalogVersion;
+    private final ProductCatalogSnapshot catalogSnapshot;
+    private final JsonMapper jsonMapper;
 
     @Operation(summary = "Get a product by ID", description = "Returns a product based on its ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "OK - The product was successfully retrieved.",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ProductDto.class))),
+            @ApiResponse(responseCode = "304", description = "Not Modified - The products did not change since the response identified by If-None-Match or If-Modified-Since."),
             @ApiResponse(responseCode = "404", description = "Not Found - The product with the specified ID was not found.",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ApiErrorDto.class))),
@@ -42,54 +81,280 @@ public class ProductController {
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ApiErrorDto.class))),
     })
-    @GetMapping(value = "/{id}", produces = "application/json")
-    public ResponseEntity<ProductDto> getProduct(@PathVariable Long id) {
-        Optional<ProductDto> product = productService.getById(id);
-        return product.map(ResponseEntity::ok)
+    @GetMapping(value = "/{id}")
+    public ResponseEntity<ProductDto> getProduct(@PathVariable Long id, ServletWebRequest request) {
+        // The product is looked up first, the validators of the catalog cannot tell whether it exists;
+        // they are still read before it, so they are never newer than the body
+        ProductCatalogVersion.Validators validators = catalogVersion.getValidators();
+        ProductDto product = productService.getById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("The product with ID: " + id + " was not found"));
+
+        if (isNotModified(request, validators))
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+
+        return ResponseEntity.ok(product);
     }
 
-    @Operation(summary = "Get all products", description = "Returns a list of all products.")
+    @Operation(summary = "Get all products",
+            description = "Returns a list of all products ordered by ID. The list is served from an encoded snapshot rebuilt after every change of the products, gzip-compressed if the client accepts it.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "OK - The products were successfully retrieved.",
                     content = @Content(mediaType = "application/json",
                             array = @ArraySchema(schema = @Schema(implementation = ProductDto.class)))),
+            @ApiResponse(responseCode = "304", description = "Not Modified - The products did not change since the response identified by If-None-Match or If-Modified-Since."),
             @ApiResponse(responseCode = "500", description = "Internal Server Error - An error occurred while processing the request.",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ApiErrorDto.class))),
     })
     @GetMapping(produces = "application/json")
-    public ResponseEntity<List<ProductDto>> getAllProducts() {
-        List<ProductDto> products = productService.findAll();
-        return ResponseEntity.ok(products);
+    public ResponseEntity<byte[]> getAllProducts(ServletWebRequest request) {
+        if (isNotModified(request))
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            Optional<byte[]> gzipped = catalogSnapshot.get(true);
+            if (gzipped.isPresent())
+                return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(gzipped.get());
+        }
+
+        // Until the snapshot is rebuilt after a change, the products are read and encoded for this request
+        byte[] products = catalogSnapshot.get(false)
+                .orElseGet(() -> jsonMapper.writeValueAsBytes(productService.findAll()));
+        return response.body(products);
+    }
+
+    @Operation(summary = "Export all products",
+            description = "Streams all products ordered by ID, either as newline-delimited JSON (format=ndjson) or as a JSON array (format=json). The response is written while the products are read, so its size is not limited by the server memory. An export is aborted after 30 minutes.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "OK - The products are being streamed.",
+                    content = {
+                            @Content(mediaType = "application/x-ndjson",
+                                    schema = @Schema(implementation = ProductDto.class)),
+                            @Content(mediaType = "application/json",
+                                    array = @ArraySchema(schema = @Schema(implementation = ProductDto.class)))
+                    }),
+            @ApiResponse(responseCode = "304", description = "Not Modified - The products did not change since the response identified by If-None-Match or If-Modified-Since."),
+            @ApiResponse(responseCode = "409", description = "Conflict - The export format is not supported.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorDto.class))),
+    })
+    @GetMapping(value = "/export")
+    public WebAsyncTask<Void> exportProducts(@RequestParam(defaultValue = EXPORT_FORMAT_NDJSON) String format,
+                                             ServletWebRequest request, HttpServletResponse response) {
+        boolean ndjson = switch (format) {
+            case EXPORT_FORMAT_NDJSON -> true;
+            case EXPORT_FORMAT_JSON -> false;
+            default -> throw new ResourceConflictException("Export format must be one of: ndjson, json");
+        };
+
+        // The 304 status is already set, nothing else to write
+        if (isNotModified(request))
+            return null;
+
+        // Written directly to the response, so the task can carry its own timeout instead of the global one
+        response.setContentType(ndjson ? MediaType.APPLICATION_NDJSON_VALUE : MediaType.APPLICATION_JSON_VALUE);
+        return new WebAsyncTask<>(EXPORT_TIMEOUT.toMillis(), () -> {
+            writeProducts(response.getOutputStream(), ndjson);
+            return null;
+        });
     }
 
-    @Operation(summary = "Get all products with paging support", description = "Returns a list of all products with paging support.")
+    @Operation(summary = "Get all products with paging support",
+            description = "Returns a list of all products with paging support. The countMode parameter selects how the total count is obtained: EXACT (count query), NONE (omitted), ESTIMATED (database statistics) or CACHED (count query reused for a short time). "
+                    + "The products can be sorted by ID, PRICE, NAME or CREATED_ON in either direction; products with equal values are ordered by ID. "
+                    + "They can be filtered either by a price range (minPrice, maxPrice, inclusive) when sorted by PRICE, or by creation time (createdAfter, exclusive) when sorted by CREATED_ON, so that the index of the sort order also serves the filter. "
+                    + "With a filter, ESTIMATED and CACHED omit the total count.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "OK - The products were successfully retrieved.",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = PagingDto.class))),
-            @ApiResponse(responseCode = "409", description = "Conflict - The page size or page number must be greater than 0.",
+            @ApiResponse(responseCode = "304", description = "Not Modified - The products did not change since the response identified by If-None-Match or If-Modified-Since."),
+            @ApiResponse(responseCode = "409", description = "Conflict - The page size must be between 1 and 100, the page number must be greater than 0, the minimum price exceeds the maximum price or the filter does not match the sort order.",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ApiErrorDto.class))),
             @ApiResponse(responseCode = "500", description = "Internal Server Error - An error occurred while processing the request.",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ApiErrorDto.class))),
     })
-    @GetMapping(value = "/paging", produces = "application/json")
+    @GetMapping(value = "/paging")
     public ResponseEntity<PagingDto<ProductDto>> getAllProductsWithPaging(
             @RequestParam(defaultValue = "1") int pageNumber,
-            @RequestParam(defaultValue = "10") int pageSize) {
+            @RequestParam(defaultValue = "10") int pageSize,
+            @RequestParam(defaultValue = "EXACT") CountMode countMode,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdAfter,
+            @RequestParam(defaultValue = "ID") ProductSortField sortBy,
+            @RequestParam(defaultValue = "ASC") Sort.Direction sortDirection,
+            ServletWebRequest request) {
+        if (pageNumber < 1)
+            throw new ResourceConflictException("Page number must be greater than 0");
+
+        if (pageSize < 1)
+            throw new ResourceConflictException("Page size must be greater than 0");
+
+        if (pageSize > MAX_PAGE_SIZE)
+            throw new ResourceConflictException("Page size must not be greater than " + MAX_PAGE_SIZE);
+
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0)
+            throw new ResourceConflictException("Minimum price must not be greater than maximum price");
+
+        // Only the index of the sort order is walked, a filter on another column would be checked row by row
+        boolean priceFiltered = minPrice != null || maxPrice != null;
+        if (priceFiltered && createdAfter != null)
+            throw new ResourceConflictException("Price and creation time filters cannot be combined");
+
+        if (priceFiltered && sortBy != ProductSortField.PRICE)
+            throw new ResourceConflictException("Filtering by price requires sorting by PRICE");
+
+        if (createdAfter != null && sortBy != ProductSortField.CREATED_ON)
+            throw new ResourceConflictException("Filtering by creation time requires sorting by CREATED_ON");
+
+        if (isNotModified(request))
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+
+        ProductFilterDto filter = new ProductFilterDto(minPrice, maxPrice, createdAfter);
+        PagingDto<ProductDto> products = productService.findAllWithPaging(pageNumber, pageSize, countMode,
+                filter, sortBy, sortDirection);
+        return ResponseEntity.ok(products);
+    }
+
+    @Operation(summary = "Search products",
+            description = "Returns a page of the products whose name or description match the full-text query q, best matches first. Matches in the name rank above matches in the description. The query supports quoted phrases, 'or' and '-' to exclude a word.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "OK - The matching products were successfully retrieved.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = PagingDto.class))),
+            @ApiResponse(responseCode = "304", description = "Not Modified - The products did not change since the response identified by If-None-Match or If-Modified-Since."),
+            @ApiResponse(responseCode = "409", description = "Conflict - The query is blank, the page size is not between 1 and 100 or the page number is not greater than 0.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorDto.class))),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error - An error occurred while processing the request.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorDto.class))),
+    })
+    @GetMapping(value = "/search")
+    public ResponseEntity<PagingDto<ProductDto>> searchProducts(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(defaultValue = "1") int pageNumber,
+            @RequestParam(defaultValue = "10") int pageSize,
+            ServletWebRequest request) {
+        if (q.isBlank())
+            throw new ResourceConflictException("Search query must not be blank");
+
         if (pageNumber < 1)
             throw new ResourceConflictException("Page number must be greater than 0");
 
         if (pageSize < 1)
             throw new ResourceConflictException("Page size must be greater than 0");
 
-        PagingDto<ProductDto> products = productService.findAllWithPaging(pageNumber, pageSize);
+        if (pageSize > MAX_PAGE_SIZE)
+            throw new ResourceConflictException("Page size must not be greater than " + MAX_PAGE_SIZE);
+
+        if (isNotModified(request))
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+
+        PagingDto<ProductDto> products = productService.search(q, pageNumber, pageSize);
+        return ResponseEntity.ok(products);
+    }
+
+    @Operation(summary = "Get all products with keyset paging support",
+            description = "Returns a page of products ordered by ID. Pass the returned nextCursor as the 'after' parameter to fetch the next page; every page costs the same regardless of its depth.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "OK - The products were successfully retrieved.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = CursorPagingDto.class))),
+            @ApiResponse(responseCode = "304", description = "Not Modified - The products did not change since the response identified by If-None-Match or If-Modified-Since."),
+            @ApiResponse(responseCode = "409", description = "Conflict - The page size must be between 1 and 100 or the cursor is invalid.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorDto.class))),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error - An error occurred while processing the request.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorDto.class))),
+    })
+    @GetMapping(value = "/paging/cursor")
+    public ResponseEntity<CursorPagingDto<ProductDto>> getAllProductsWithCursorPaging(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int pageSize,
+            ServletWebRequest request) {
+        if (pageSize < 1)
+            throw new ResourceConflictException("Page size must be greater than 0");
+
+        if (pageSize > MAX_PAGE_SIZE)
+            throw new ResourceConflictException("Page size must not be greater than " + MAX_PAGE_SIZE);
+
+        Long afterId = CursorCodec.decodeLong(after);
+        if (isNotModified(request))
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+
+        CursorPagingDto<ProductDto> products = productService.findAllAfter(afterId, pageSize);
         return ResponseEntity.ok(products);
     }
 
+    @Operation(summary = "Create products in bulk",
+            description = "Creates the given products in chunks, each chunk in its own transaction. Every product is validated and reported separately, so invalid products do not prevent the others from being created. Product IDs are always generated.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "OK - The batch was processed, see the result of every product.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = BatchResultDto.class))),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error - An error occurred while processing the request.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorDto.class))),
+    })
+    @PostMapping(value = "/batch", produces = "application/json", consumes = "application/json")
+    public ResponseEntity<BatchResultDto<ProductDto>> createProducts(@RequestBody List<ProductDto> products) {
+        return ResponseEntity.ok(productService.createAll(products));
+    }
+
+    @Operation(summary = "Update products in bulk",
+            description = "Updates the given products, identified by their IDs, in chunks, each chunk in its own transaction. Every product is validated and reported separately, so invalid or missing products do not prevent the others from being updated.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "OK - The batch was processed, see the result of every product.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = BatchResultDto.class))),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error - An error occurred while processing the request.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorDto.class))),
+    })
+    @PutMapping(value = "/batch", produces = "application/json", consumes = "application/json")
+    public ResponseEntity<BatchResultDto<ProductDto>> updateProducts(@RequestBody List<ProductDto> products) {
+        return ResponseEntity.ok(productService.updateAll(products));
+    }
+
+    @Operation(summary = "Delete a product", description = "Deletes a product based on its ID.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "No Content - The product was successfully deleted."),
+            @ApiResponse(responseCode = "404", description = "Not Found - The product with the specified ID was not found.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorDto.class))),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error - An error occurred while processing the request.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorDto.class))),
+    })
+    @DeleteMapping(value = "/{id}")
+    public ResponseEntity<Void> deleteProduct(@PathVariable Long id) {
+        productService.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Delete products in bulk",
+            description = "Deletes the products with the given IDs. IDs that match no product are reported as not found instead of failing the request.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "OK - The products were deleted, see the counts.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = BulkDeleteResultDto.class))),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error - An error occurred while processing the request.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorDto.class))),
+    })
+    @DeleteMapping(value = "/batch", produces = "application/json", consumes = "application/json")
+    public ResponseEntity<BulkDeleteResultDto> deleteProducts(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(productService.deleteAll(ids));
+    }
+
     @Operation(summary = "Update a product (description only)", description = "Updates and returns the updates product")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "OK - The product description was successfully updated.",
@@ -108,4 +373,82 @@ public class ProductController {
         return product.map(ResponseEntity::ok)
                 .orElseThrow(() -> new ResourceNotFoundException("The product with ID: " + id + " was not found"));
     }
+
+    /**
+     * Answers a conditional GET from the catalog version, before any product is read.
+     * Clients may store every product response but must revalidate it on each use.
+     *
+     * @param request the current request
+     * @return true if the products did not change since the validators sent by the client
+     */
+    private boolean isNotModified(ServletWebRequest request) {
+        return isNotModified(request, catalogVersion.getValidators());
+    }
+
+    /**
+     * Answers a conditional GET from the given validators of the catalog version.
+     *
+     * @param request    the current request
+     * @param validators the validators read before the products, or null if none are issued
+     * @return true if the products did not change since the validators sent by the client
+     */
+    private boolean isNotModified(ServletWebRequest request, ProductCatalogVersion.Validators validators) {
+        HttpServletResponse response = request.getResponse();
+        if (response != null)
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+
+        return validators != null && request.checkNotModified(validators.etag(), validators.lastModified());
+    }
+
+    /**
+     * Tells whether an Accept-Encoding header accepts gzip (RFC 9110, section 12.5.3):
+     * gzip or x-gzip, otherwise the * wildcard, listed with a quality value above 0.
+     *
+     * @param acceptEncoding the Accept-Encoding header, or null if the request has none
+     * @return true if a gzip-compressed body may be sent
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null)
+            return false;
+
+        Double gzipQuality = null;
+        Double wildcardQuality = null;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parameters = element.split(";");
+            String coding = parameters[0].strip().toLowerCase(Locale.ROOT);
+            double quality = 1;
+            for (int i = 1; i < parameters.length; i++) {
+                String parameter = parameters[i].strip();
+                if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2).strip());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip"))
+                gzipQuality = quality;
+            else if (coding.equals("*"))
+                wildcardQuality = quality;
+        }
+        Double quality = gzipQuality != null ? gzipQuality : wildcardQuality;
+        return quality != null && quality > 0;
+    }
+
+    private void writeProducts(OutputStream outputStream, boolean ndjson) throws IOException {
+        ObjectWriter writer = ndjson ? jsonMapper.writer().withRootValueSeparator("\n") : jsonMapper.writer();
+        AtomicBoolean written = new AtomicBoolean();
+        try (SequenceWriter sequenceWriter = ndjson ? writer.writeValues(outputStream) : writer.writeValuesAsArray(outputStream)) {
+            productService.streamAll(product -> {
+                sequenceWriter.write(product);
+                written.set(true);
+            });
+            // NDJSON terminates every record, including the last one, with a newline
+            if (ndjson && written.get()) {
+                sequenceWriter.flush();
+                outputStream.write('\n');
+            }
+        }
+    }
 }
@@ -0,0 +1,66 @@
+package com.springapi.shopsample.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * BatchItemResultDto is a generic class that represents the outcome of a single item of a batch operation.
+ * A succeeded item carries the stored DTO, a failed item carries the reasons of the failure.
+ *
+ * @param <T> the type of the item
+ */
+@Getter
+@Setter
+@Schema(description = "Data Transfer Object for the result of a single batch item.")
+public class BatchItemResultDto<T> {
+
+    @Schema(description = "The zero-based position of the item in the request.", example = "0")
+    private int index;
+
+    @Schema(description = "Indicates whether the item was stored.", example = "true")
+    private boolean success;
+
+    @Schema(description = "The stored item (This field is included only if the item was stored).")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private T item;
+
+    @Schema(description = "The reasons why the item was not stored (This field is included only if the item failed).",
+            example = "[\"Product name is required\"]")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<String> errors;
+
+    private BatchItemResultDto(int index, boolean success, T item, List<String> errors) {
+        this.index = index;
+        this.success = success;
+        this.item = item;
+        this.errors = errors;
+    }
+
+    /**
+     * Creates the result of an item that was stored.
+     *
+     * @param index the position of the item in the request
+     * @param item  the stored item
+     * @param <T>   the type of the item
+     * @return the succeeded item result
+     */
+    public static <T> BatchItemResultDto<T> succeeded(int index, T item) {
+        return new BatchItemResultDto<>(index, true, item, null);
+    }
+
+    /**
+     * Creates the result of an item that was not stored.
+     *
+     * @param index  the position of the item in the request
+     * @param errors the reasons of the failure
+     * @param <T>    the type of the item
+     * @return the failed item result
+     */
+    public static <T> BatchItemResultDto<T> failed(int index, List<String> errors) {
+        return new BatchItemResultDto<>(index, false, null, errors);
+    }
+}
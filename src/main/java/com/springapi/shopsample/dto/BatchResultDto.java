@@ -0,0 +1,39 @@
+package com.springapi.shopsample.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * BatchResultDto is a generic class that represents the outcome of a batch operation.
+ * It holds one result per requested item, in the order of the request, together with the summary counts.
+ *
+ * @param <T> the type of the items
+ */
+@Getter
+@Setter
+@Schema(description = "Data Transfer Object for the result of a batch operation.")
+public class BatchResultDto<T> {
+
+    @Schema(description = "The result of every item, in the order of the request.", example = "[{...},{...}]")
+    private List<BatchItemResultDto<T>> items;
+
+    @Schema(description = "The number of items that were stored.", example = "98")
+    private int succeeded;
+
+    @Schema(description = "The number of items that were not stored.", example = "2")
+    private int failed;
+
+    /**
+     * Constructs a new BatchResultDto with the specified item results and counts the succeeded and failed items.
+     *
+     * @param items the result of every item, in the order of the request
+     */
+    public BatchResultDto(List<BatchItemResultDto<T>> items) {
+        this.items = items;
+        this.succeeded = (int) items.stream().filter(BatchItemResultDto::isSuccess).count();
+        this.failed = items.size() - succeeded;
+    }
+}
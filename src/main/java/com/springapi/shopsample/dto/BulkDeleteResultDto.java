@@ -0,0 +1,36 @@
+package com.springapi.shopsample.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * BulkDeleteResultDto represents the outcome of a bulk delete.
+ * Identifiers that matched no entity are counted as not found; they do not fail the operation.
+ */
+@Getter
+@Setter
+@Schema(description = "Data Transfer Object for the result of a bulk delete.")
+public class BulkDeleteResultDto {
+
+    @Schema(description = "The number of distinct identifiers requested.", example = "100")
+    private int requested;
+
+    @Schema(description = "The number of entities that were deleted.", example = "98")
+    private int deleted;
+
+    @Schema(description = "The number of identifiers that matched no entity.", example = "2")
+    private int notFound;
+
+    /**
+     * Constructs a new BulkDeleteResultDto with the specified counts and computes the number of identifiers not found.
+     *
+     * @param requested the number of distinct identifiers requested
+     * @param deleted   the number of entities that were deleted
+     */
+    public BulkDeleteResultDto(int requested, int deleted) {
+        this.requested = requested;
+        this.deleted = deleted;
+        this.notFound = requested - deleted;
+    }
+}
@@ -0,0 +1,29 @@
+package com.springapi.shopsample.dto;
+
+/**
+ * CountMode defines how the total number of items of a paginated response is obtained.
+ * Every mode other than EXACT determines the next page by fetching one extra row (a Slice)
+ * and never runs a count(*) query on the request path.
+ */
+public enum CountMode {
+
+    /**
+     * The total count is computed with a count(*) query on every request.
+     */
+    EXACT,
+
+    /**
+     * The total count is omitted.
+     */
+    NONE,
+
+    /**
+     * The total count is estimated from database statistics (e.g. PostgreSQL pg_class.reltuples).
+     */
+    ESTIMATED,
+
+    /**
+     * The total count is computed with a count(*) query and reused for a short time.
+     */
+    CACHED
+}
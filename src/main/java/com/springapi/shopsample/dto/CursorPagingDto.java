@@ -0,0 +1,49 @@
+package com.springapi.shopsample.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * CursorPagingDto is a generic class that represents a page of a keyset (cursor based) listing.
+ * Unlike PagingDto it carries no page number or total count; the next page is requested
+ * by passing the opaque nextCursor value back as the "after" parameter.
+ *
+ * @param <T> the type of the items in the page
+ */
+@Getter
+@Setter
+@Schema(description = "Data Transfer Object for Cursor Paging.")
+public class CursorPagingDto<T> {
+
+    @Schema(description = "The items in the current page.", example = "[{...},{...}]")
+    private List<T> items;
+
+    @Schema(description = "The number of items per page.", example = "10")
+    private int pageSize;
+
+    @Schema(description = "The opaque cursor of the next page (This field is included only if there is a next page).", example = "MTA")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+
+    @Schema(description = "Indicates whether there is a next page.", example = "true")
+    private boolean hasNext;
+
+    /**
+     * Constructs a new CursorPagingDto with the specified items, page size and next page cursor.
+     * The page has a next page if the cursor is not null.
+     *
+     * @param items      the items in the current page
+     * @param pageSize   the number of items per page
+     * @param nextCursor the cursor of the next page, or null if this is the last page
+     */
+    public CursorPagingDto(List<T> items, int pageSize, String nextCursor) {
+        this.items = items;
+        this.pageSize = pageSize;
+        this.nextCursor = nextCursor;
+        this.hasNext = nextCursor != null;
+    }
+}
@@ -1,5 +1,6 @@
 package com.springapi.shopsample.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Getter;
 import lombok.Setter;
@@ -25,11 +26,16 @@ public class PagingDto<T> {
     @Schema(description = "The number of items per page.", example = "10")
     private int pageSize;
 
-    @Schema(description = "The total number of items.", example = "100")
-    private int totalCount;
+    @Schema(description = "The total number of items (This field is included only if it is not null).", example = "100")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer totalCount;
 
-    @Schema(description = "The total number of pages.", example = "10")
-    private int totalPages;
+    @Schema(description = "The total number of pages (This field is included only if it is not null).", example = "10")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer totalPages;
+
+    @Schema(description = "How the total number of items was obtained.", example = "EXACT")
+    private CountMode countMode;
 
     @Schema(description = "Indicates whether there is a previous page.", example = "true")
     private boolean hasPrevious;
@@ -54,5 +60,28 @@ public class PagingDto<T> {
         this.totalPages = (int) Math.ceil((double) totalCount / pageSize);
         this.hasPrevious = pageNumber > 1;
         this.hasNext = pageNumber < totalPages;
+        this.countMode = CountMode.EXACT;
+    }
+
+    /**
+     * Constructs a new PagingDto whose next page is known from the fetched rows rather than from the total count.
+     * The total count may be null (omitted) or an estimate, depending on the count mode.
+     *
+     * @param items      the items in the current page
+     * @param totalCount the total number of items, or null if it is not known
+     * @param pageNumber the current page number
+     * @param pageSize   the number of items per page
+     * @param hasNext    whether there is a next page
+     * @param countMode  how the total number of items was obtained
+     */
+    public PagingDto(List<T> items, Integer totalCount, int pageNumber, int pageSize, boolean hasNext, CountMode countMode) {
+        this.items = items;
+        this.totalCount = totalCount;
+        this.pageNumber = pageNumber;
+        this.pageSize = pageSize;
+        this.totalPages = totalCount == null ? null : (int) Math.ceil((double) totalCount / pageSize);
+        this.hasPrevious = pageNumber > 1;
+        this.hasNext = hasNext;
+        this.countMode = countMode;
     }
 }
@@ -0,0 +1,44 @@
+package com.springapi.shopsample.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * ProductFilterDto holds the optional filters of a product listing.
+ * A null field does not restrict the listing.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFilterDto {
+
+    /**
+     * The minimum price, inclusive.
+     */
+    private BigDecimal minPrice;
+
+    /**
+     * The maximum price, inclusive.
+     */
+    private BigDecimal maxPrice;
+
+    /**
+     * The timestamp the products must have been created after, exclusive.
+     */
+    private LocalDateTime createdAfter;
+
+    /**
+     * Tells whether no filter is set.
+     *
+     * @return true if the listing is not restricted
+     */
+    public boolean isEmpty() {
+        return minPrice == null && maxPrice == null && createdAfter == null;
+    }
+}
@@ -0,0 +1,42 @@
+package com.springapi.shopsample.dto.product;
+
+import lombok.Getter;
+
+/**
+ * ProductSortField defines the attributes a product listing can be sorted by.
+ * Every field is backed by an index on the product table ending with the product ID,
+ * which is also the tie-breaker keeping the order stable across pages.
+ * The index serves a range filter on the sorted column only, so a listing filters by the column it is sorted by.
+ */
+@Getter
+public enum ProductSortField {
+
+    /**
+     * Sorted by product ID, the default order.
+     */
+    ID("id"),
+
+    /**
+     * Sorted by price.
+     */
+    PRICE("price"),
+
+    /**
+     * Sorted by name.
+     */
+    NAME("name"),
+
+    /**
+     * Sorted by the creation timestamp.
+     */
+    CREATED_ON("createdOn");
+
+    /**
+     * The name of the sorted ProductEntity attribute.
+     */
+    private final String attribute;
+
+    ProductSortField(String attribute) {
+        this.attribute = attribute;
+    }
+}
@@ -3,9 +3,11 @@ package com.springapi.shopsample.entity.product;
 import com.springapi.shopsample.entity.BaseEntity;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 
@@ -13,13 +15,20 @@ import java.math.BigDecimal;
  * ProductEntity is an entity class that represents a product in the system.
  * It extends the BaseEntity class to inherit common properties and methods.
  * This class is annotated with @Entity to indicate that it is a JPA entity.
- * The @Table annotation specifies the table name in the database.
+ * The @Table annotation specifies the table name in the database and the indexes
+ * serving the sorted and filtered product listing, each ending with the ID tie-breaker.
  * The @Getter and @Setter annotations are used to generate getter and setter methods for the fields.
+ * The @DynamicUpdate annotation makes Hibernate write only the columns that actually changed.
  */
 @Getter
 @Setter
 @Entity
-@Table(name = "product")
+@DynamicUpdate
+@Table(name = "product", indexes = {
+        @Index(name = "product_price_id_idx", columnList = "price, id"),
+        @Index(name = "product_name_id_idx", columnList = "name, id"),
+        @Index(name = "product_created_on_id_idx", columnList = "created_on, id")
+})
 public class ProductEntity extends BaseEntity {
 
     /**
@@ -1,9 +1,23 @@
 package com.springapi.shopsample.entity.user;
 
+import lombok.Getter;
+
 /**
  * Enumeration of application roles used for authorization.
+ * Every role owns a fixed bit of the roles column of app_user (see RoleSetConverter);
+ * the bits are stored, so they must never change or be reused.
  */
+@Getter
 public enum Role {
-    ROLE_USER,
-    ROLE_ADMIN
-}
\ No newline at end of file
+    ROLE_USER(1),
+    ROLE_ADMIN(1 << 1);
+
+    /**
+     * The bit of the role in the stored bitmask.
+     */
+    private final int bit;
+
+    Role(int bit) {
+        this.bit = bit;
+    }
+}
@@ -0,0 +1,39 @@
+package com.springapi.shopsample.entity.user;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * RoleSetConverter stores a set of roles as a bitmask of the roles' bits in a single integer column,
+ * so the roles are read with the row of their user instead of from a table of their own.
+ */
+@Converter
+public class RoleSetConverter implements AttributeConverter<Set<Role>, Integer> {
+
+    @Override
+    public Integer convertToDatabaseColumn(Set<Role> roles) {
+        int bitmask = 0;
+        if (roles != null) {
+            for (Role role : roles) {
+                bitmask |= role.getBit();
+            }
+        }
+        return bitmask;
+    }
+
+    @Override
+    public Set<Role> convertToEntityAttribute(Integer bitmask) {
+        Set<Role> roles = EnumSet.noneOf(Role.class);
+        if (bitmask != null) {
+            for (Role role : Role.values()) {
+                if ((bitmask & role.getBit()) != 0) {
+                    roles.add(role);
+                }
+            }
+        }
+        return roles;
+    }
+}
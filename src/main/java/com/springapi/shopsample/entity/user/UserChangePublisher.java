@@ -0,0 +1,48 @@
+package com.springapi.shopsample.entity.user;
+
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * JPA entity listener that publishes a Changed event whenever a user is updated or removed,
+ * so other layers, e.g. the cache of principals, can react without the entity depending on them.
+ * The event carries the username read from the database as well, so a rename can be told apart.
+ * Instantiated by Hibernate through the Spring bean container.
+ * <p>
+ * Only changes of managed entities reach the listener: JPQL or SQL bulk updates and deletes
+ * (e.g. {@code @Modifying} queries) bypass it, their callers must publish the event themselves.
+ */
+public class UserChangePublisher {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public UserChangePublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostLoad
+    @PostPersist
+    public void rememberUsername(UserEntity user) {
+        user.setStoredUsername(user.getUsername());
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void publishChange(UserEntity user) {
+        String previousUsername = user.getStoredUsername() != null ? user.getStoredUsername() : user.getUsername();
+        eventPublisher.publishEvent(new Changed(user.getUsername(), previousUsername));
+        rememberUsername(user);
+    }
+
+    /**
+     * The event published when a user was updated or removed.
+     *
+     * @param username         the username of the user after the change
+     * @param previousUsername the username before the change, equal to username unless the user was renamed
+     */
+    public record Changed(String username, String previousUsername) {
+    }
+}
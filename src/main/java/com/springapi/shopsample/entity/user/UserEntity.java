@@ -4,8 +4,9 @@ import com.springapi.shopsample.entity.BaseEntity;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
-import java.util.HashSet;
+import java.util.EnumSet;
 import java.util.Set;
 
 /**
@@ -14,15 +15,33 @@ import java.util.Set;
 @Getter
 @Setter
 @Entity
+@EntityListeners(UserChangePublisher.class)
 @Table(name = "app_user", uniqueConstraints = {
-        @UniqueConstraint(columnNames = "username"),
-        @UniqueConstraint(columnNames = "email")
+        @UniqueConstraint(name = UserEntity.USERNAME_CONSTRAINT, columnNames = "username"),
+        @UniqueConstraint(name = UserEntity.EMAIL_CONSTRAINT, columnNames = "email")
 })
 public class UserEntity extends BaseEntity {
 
+    /**
+     * The name of the unique constraint of the username.
+     */
+    public static final String USERNAME_CONSTRAINT = "app_user_username_key";
+
+    /**
+     * The name of the unique constraint of the email.
+     */
+    public static final String EMAIL_CONSTRAINT = "app_user_email_key";
+
     @Column(name = "username", nullable = false, length = 50)
     private String username;
 
+    /**
+     * The username as last read from or written to the database, kept by UserChangePublisher
+     * to report the former username of a renamed user.
+     */
+    @Transient
+    private String storedUsername;
+
     @Column(name = "email", nullable = false, length = 100)
     private String email;
 
@@ -32,9 +51,11 @@ public class UserEntity extends BaseEntity {
     @Column(name = "enabled", nullable = false)
     private boolean enabled = true;
 
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"))
-    @Enumerated(EnumType.STRING)
-    @Column(name = "role")
-    private Set<Role> roles = new HashSet<>();
+    /**
+     * The roles of the user, stored as a bitmask in a column of the user's row.
+     */
+    @Convert(converter = RoleSetConverter.class)
+    @ColumnDefault("0")
+    @Column(name = "roles", nullable = false)
+    private Set<Role> roles = EnumSet.noneOf(Role.class);
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.springapi.shopsample.exception;
+
+import java.io.Serial;
+
+/**
+ * ServiceOverloadedException is thrown when a request is rejected because the capacity serving it is exhausted.
+ * This exception extends RuntimeException.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 3180412958712334645L;
+
+    /**
+     * Constructs a new ServiceOverloadedException with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+}
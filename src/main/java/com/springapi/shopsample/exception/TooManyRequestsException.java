@@ -0,0 +1,31 @@
+package com.springapi.shopsample.exception;
+
+import lombok.Getter;
+
+import java.io.Serial;
+import java.time.Duration;
+
+/**
+ * TooManyRequestsException is thrown when a client exceeds the number of requests it is allowed to make.
+ * It carries the time after which the client may retry.
+ * This exception extends RuntimeException.
+ */
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = -6420855128347159202L;
+
+    private final Duration retryAfter;
+
+    /**
+     * Constructs a new TooManyRequestsException with the specified detail message and retry time.
+     *
+     * @param message    the detail message
+     * @param retryAfter the time after which the request may be repeated
+     */
+    public TooManyRequestsException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
@@ -2,8 +2,17 @@ package com.springapi.shopsample.mapper;
 
 import com.springapi.shopsample.dto.product.ProductDto;
 import com.springapi.shopsample.entity.product.ProductEntity;
+import com.springapi.shopsample.repository.projection.ProductView;
 import org.mapstruct.Mapper;
 
 @Mapper(componentModel = "spring")
 public interface ProductMapper extends BaseMapper<ProductEntity, ProductDto> {
+
+    /**
+     * Maps a product projection to a DTO.
+     *
+     * @param view the projection to map
+     * @return the corresponding DTO
+     */
+    ProductDto toDto(ProductView view);
 }
@@ -3,6 +3,7 @@ package com.springapi.shopsample.mapper.impl;
 import com.springapi.shopsample.dto.product.ProductDto;
 import com.springapi.shopsample.entity.product.ProductEntity;
 import com.springapi.shopsample.mapper.ProductMapper;
+import com.springapi.shopsample.repository.projection.ProductView;
 
 /**
  * ProductMapperImpl is an implementation of the ProductMapper interface.
@@ -24,7 +25,29 @@ public class ProductMapperImpl implements ProductMapper {
         ProductDto dto = new ProductDto();
         dto.setId(entity.getId());
         dto.setName(entity.getName());
+        dto.setDescription(entity.getDescription());
         dto.setPrice(entity.getPrice());
+        dto.setImageUrl(entity.getImageUrl());
+        return dto;
+    }
+
+    /**
+     * Converts a ProductView projection to a ProductDto.
+     *
+     * @param view the ProductView to convert
+     * @return the converted ProductDto, or null if the view is null
+     */
+    @Override
+    public ProductDto toDto(ProductView view) {
+        if (view == null) {
+            return null;
+        }
+        ProductDto dto = new ProductDto();
+        dto.setId(view.getId());
+        dto.setName(view.getName());
+        dto.setDescription(view.getDescription());
+        dto.setPrice(view.getPrice());
+        dto.setImageUrl(view.getImageUrl());
         return dto;
     }
 
@@ -42,7 +65,9 @@ public class ProductMapperImpl implements ProductMapper {
         ProductEntity entity = new ProductEntity();
         entity.setId(dto.getId());
         entity.setName(dto.getName());
+        entity.setDescription(dto.getDescription());
         entity.setPrice(dto.getPrice());
+        entity.setImageUrl(dto.getImageUrl());
         return entity;
     }
 
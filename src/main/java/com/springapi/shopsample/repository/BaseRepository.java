@@ -0,0 +1,66 @@
+package com.springapi.shopsample.repository;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.stream.Stream;
+
+/**
+ * Base repository interface shared by all entity repositories.
+ * Combines JpaRepository CRUD operations with JpaSpecificationExecutor,
+ * so generic services can build criteria queries (e.g. keyset pagination).
+ *
+ * @param <E>  the type of the entity
+ * @param <ID> the type of the entity's identifier
+ */
+@NoRepositoryBean
+public interface BaseRepository<E, ID> extends JpaRepository<E, ID>, JpaSpecificationExecutor<E> {
+
+    /**
+     * The number of rows fetched from the database per round-trip when streaming.
+     */
+    String STREAM_FETCH_SIZE = "500";
+
+    /**
+     * Streams all entities ordered by identifier.
+     * Rows are fetched lazily in batches of STREAM_FETCH_SIZE and loaded as read-only entities,
+     * so the stream must be consumed and closed within a transaction.
+     *
+     * @return a stream of all entities
+     */
+    @QueryHints(value = {
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    }, forCounting = false)
+    Stream<E> streamAllByOrderByIdAsc();
+
+    /**
+     * Deletes the entity with the given identifier with a single DELETE statement.
+     * The entity is not loaded first, so cascades and entity lifecycle callbacks do not apply.
+     *
+     * @param id the identifier of the entity to delete
+     * @return the number of deleted rows, 0 if no entity has the given identifier
+     */
+    @Modifying
+    @Query("DELETE FROM #{#entityName} e WHERE e.id = :id")
+    int deleteByIdReturningCount(@Param("id") ID id);
+
+    /**
+     * Deletes the entities with the given identifiers with a single DELETE statement.
+     * The entities are not loaded first, so cascades and entity lifecycle callbacks do not apply.
+     *
+     * @param ids the identifiers of the entities to delete
+     * @return the number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM #{#entityName} e WHERE e.id IN :ids")
+    int deleteAllByIdInReturningCount(@Param("ids") Collection<ID> ids);
+}
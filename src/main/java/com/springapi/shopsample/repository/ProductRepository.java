@@ -1,11 +1,113 @@
 package com.springapi.shopsample.repository;
 
 import com.springapi.shopsample.entity.product.ProductEntity;
-import org.springframework.data.jpa.repository.JpaRepository;
+import com.springapi.shopsample.repository.projection.ProductView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for ProductEntity.
- * Extends JpaRepository to provide CRUD operations for ProductEntity.
+ * Extends BaseRepository to provide CRUD and specification operations for ProductEntity.
  */
-public interface ProductRepository extends JpaRepository<ProductEntity, Long> {
+public interface ProductRepository extends BaseRepository<ProductEntity, Long> {
+
+    /**
+     * Returns the planner's estimate of the number of rows in the product table.
+     * The value comes from PostgreSQL statistics and is -1 if the table was never analyzed.
+     *
+     * @return the estimated number of products
+     */
+    @Query(value = "SELECT reltuples::bigint FROM pg_class WHERE oid = 'product'::regclass", nativeQuery = true)
+    long estimateCount();
+
+    /**
+     * Finds the product with the given identifier, selecting only the columns of ProductView.
+     *
+     * @param id the identifier of the product
+     * @return the product, or an empty Optional if no product has the given identifier
+     */
+    Optional<ProductView> findViewById(Long id);
+
+    /**
+     * Finds all products ordered by identifier, selecting only the columns of ProductView.
+     *
+     * @return all products
+     */
+    List<ProductView> findViewsByOrderByIdAsc();
+
+    /**
+     * Finds the first products ordered by identifier, selecting only the columns of ProductView.
+     *
+     * @param limit the maximum number of products
+     * @return the products with the lowest identifiers
+     */
+    List<ProductView> findViewsByOrderByIdAsc(Limit limit);
+
+    /**
+     * Finds the products following the given identifier ordered by identifier,
+     * selecting only the columns of ProductView.
+     *
+     * @param id    the identifier to start after
+     * @param limit the maximum number of products
+     * @return the products following the given identifier
+     */
+    List<ProductView> findViewsByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Streams all products ordered by identifier, selecting only the columns of ProductView.
+     * Rows are fetched lazily in batches of STREAM_FETCH_SIZE, so the stream must be consumed
+     * and closed within a transaction.
+     *
+     * @return a stream of all products
+     */
+    @QueryHints(value = @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE), forCounting = false)
+    Stream<ProductView> streamViewsByOrderByIdAsc();
+
+    /**
+     * Updates the description of a product and returns the updated row, all in a single statement.
+     * The persistence context is bypassed, so no entity is loaded and no merge select is issued.
+     *
+     * @param id          the identifier of the product to update
+     * @param description the new description
+     * @param updatedOn   the timestamp of the update
+     * @return the updated product, or an empty Optional if no product has the given identifier
+     */
+    @Query(value = """
+            UPDATE product SET description = :description, updated_on = :updatedOn
+            WHERE id = :id
+            RETURNING id, name, description, price, image_url AS "imageUrl"
+            """, nativeQuery = true)
+    Optional<ProductView> updateDescription(@Param("id") Long id,
+                                            @Param("description") String description,
+                                            @Param("updatedOn") LocalDateTime updatedOn);
+
+    /**
+     * Finds a page of the products matching a full-text search query, best matches first.
+     * The query is matched against the search_vector column (name and description) through its GIN index;
+     * it is parsed with websearch_to_tsquery, so quoted phrases, "or" and "-" exclusions are supported.
+     *
+     * @param query    the search query
+     * @param pageable the page to find
+     * @return the page of matching products ranked by relevance
+     */
+    @Query(value = """
+            SELECT id, name, description, price, image_url AS "imageUrl"
+            FROM product
+            WHERE search_vector @@ websearch_to_tsquery('simple', :query)
+            ORDER BY ts_rank(search_vector, websearch_to_tsquery('simple', :query)) DESC, id
+            """,
+            countQuery = "SELECT count(*) FROM product WHERE search_vector @@ websearch_to_tsquery('simple', :query)",
+            nativeQuery = true)
+    Page<ProductView> search(@Param("query") String query, Pageable pageable);
 }
@@ -7,15 +7,11 @@ import org.springframework.stereotype.Repository;
 import java.util.Optional;
 
 /**
- * Repository for accessing user data. Provides lookup by username and email
- * for authentication and registration validation.
+ * Repository for accessing user data. Provides lookup by username for authentication.
+ * Duplicate usernames and emails are rejected by the unique constraints of the app_user table.
  */
 @Repository
 public interface UserRepository extends JpaRepository<UserEntity, Long> {
 
     Optional<UserEntity> findByUsername(String username);
-
-    boolean existsByUsername(String username);
-
-    boolean existsByEmail(String email);
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.springapi.shopsample.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * ProductView is a read-only projection of a product holding only the columns returned by the API.
+ * Unlike ProductEntity it is not managed by the persistence context, so no snapshot is kept for dirty checking.
+ */
+public interface ProductView {
+
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    BigDecimal getPrice();
+
+    String getImageUrl();
+}
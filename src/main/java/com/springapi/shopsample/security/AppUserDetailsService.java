@@ -1,8 +1,11 @@
 package com.springapi.shopsample.security;
 
+import com.springapi.shopsample.config.CacheConfig;
 import com.springapi.shopsample.entity.user.UserEntity;
 import com.springapi.shopsample.repository.UserRepository;
 import lombok.AllArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -34,4 +37,30 @@ public class AppUserDetailsService implements UserDetailsService {
         return new User(user.getUsername(), user.getPassword(), user.isEnabled(),
                 true, true, true, authorities);
     }
+
+    /**
+     * Loads the principal of a request that is already authenticated by a JWT token.
+     * The result is cached for a short time and carries no password, since it is never used to check credentials.
+     *
+     * @param username the username taken from the token
+     * @return the user's principal without password
+     * @throws UsernameNotFoundException if the user does not exist
+     */
+    @Cacheable(cacheNames = CacheConfig.USERS_CACHE, key = "#username")
+    public UserDetails loadPrincipal(String username) throws UsernameNotFoundException {
+        return User.withUserDetails(loadUserByUsername(username))
+                .password("")
+                .build();
+    }
+
+    /**
+     * Evicts the cached principal of the given user.
+     * Updates of the user made through JPA, role changes included, evict it automatically
+     * (see UserPrincipalCacheListener); this method covers changes made outside JPA, e.g. by bulk SQL.
+     *
+     * @param username the username whose principal is evicted
+     */
+    @CacheEvict(cacheNames = CacheConfig.USERS_CACHE, key = "#username")
+    public void evictPrincipal(String username) {
+    }
 }
\ No newline at end of file
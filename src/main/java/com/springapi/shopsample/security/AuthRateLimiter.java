@@ -0,0 +1,98 @@
+package com.springapi.shopsample.security;
+
+import com.springapi.shopsample.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * AuthRateLimiter limits the login and registration attempts per client address and per username.
+ *
+ * It is checked before any password is hashed or any user is read, so a credential-stuffing burst is rejected
+ * with a TooManyRequestsException at the cost of a token bucket lookup instead of a bcrypt hash.
+ * The client limit stops a single address trying many usernames, the username limit stops
+ * many addresses trying the same username. The rejections and the number of buckets are exported as metrics.
+ */
+@Component
+public class AuthRateLimiter {
+
+    private static final String MESSAGE = "Too many authentication attempts, please retry later";
+
+    private final boolean enabled;
+    private final TokenBucketRateLimiter clientLimiter;
+    private final TokenBucketRateLimiter usernameLimiter;
+    private final Counter clientRejections;
+    private final Counter usernameRejections;
+
+    /**
+     * Constructs a new AuthRateLimiter.
+     *
+     * @param enabled              whether the attempts are limited at all
+     * @param clientCapacity       the attempts a client address may make at once
+     * @param clientRefillPeriod   the time in which a client address gets all its attempts back
+     * @param usernameCapacity     the attempts that may be made for a username at once
+     * @param usernameRefillPeriod the time in which a username gets all its attempts back
+     * @param maximumKeys          the number of client addresses and of usernames tracked
+     */
+    public AuthRateLimiter(
+            @Value("${app.security.rate-limit.enabled:true}") boolean enabled,
+            @Value("${app.security.rate-limit.client.capacity:20}") int clientCapacity,
+            @Value("${app.security.rate-limit.client.refill-period:1m}") Duration clientRefillPeriod,
+            @Value("${app.security.rate-limit.username.capacity:5}") int usernameCapacity,
+            @Value("${app.security.rate-limit.username.refill-period:1m}") Duration usernameRefillPeriod,
+            @Value("${app.security.rate-limit.maximum-keys:100000}") long maximumKeys) {
+        this.enabled = enabled;
+        this.clientLimiter = new TokenBucketRateLimiter(clientCapacity, clientRefillPeriod, maximumKeys);
+        this.usernameLimiter = new TokenBucketRateLimiter(usernameCapacity, usernameRefillPeriod, maximumKeys);
+        this.clientRejections = rejections("client");
+        this.usernameRejections = rejections("username");
+        Gauge.builder("auth.rate-limit.keys", clientLimiter, TokenBucketRateLimiter::keys)
+                .description("Keys with a rate limit bucket")
+                .tag("key", "client")
+                .register(Metrics.globalRegistry);
+        Gauge.builder("auth.rate-limit.keys", usernameLimiter, TokenBucketRateLimiter::keys)
+                .description("Keys with a rate limit bucket")
+                .tag("key", "username")
+                .register(Metrics.globalRegistry);
+    }
+
+    /**
+     * Takes an attempt of the client address and of the username.
+     * The username's attempt is taken only if the client's is available.
+     *
+     * @param clientAddress the address of the client making the attempt
+     * @param username      the username the attempt is made for, may be {@code null}
+     * @throws TooManyRequestsException if the client or the username has no attempt left
+     */
+    public void acquire(String clientAddress, String username) {
+        if (!enabled) {
+            return;
+        }
+        long wait = clientLimiter.acquire(clientAddress);
+        if (wait > 0) {
+            clientRejections.increment();
+            throw new TooManyRequestsException(MESSAGE, Duration.ofNanos(wait));
+        }
+        if (username == null) {
+            return;
+        }
+        // Usernames differing only in case share a bucket, so changing the case does not bypass the limit
+        wait = usernameLimiter.acquire(username.toLowerCase(Locale.ROOT));
+        if (wait > 0) {
+            usernameRejections.increment();
+            throw new TooManyRequestsException(MESSAGE, Duration.ofNanos(wait));
+        }
+    }
+
+    private static Counter rejections(String key) {
+        return Counter.builder("auth.rate-limit.rejected")
+                .description("Authentication attempts rejected by the rate limit")
+                .tag("key", key)
+                .register(Metrics.globalRegistry);
+    }
+}
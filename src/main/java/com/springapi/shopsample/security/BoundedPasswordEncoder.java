@@ -0,0 +1,112 @@
+package com.springapi.shopsample.security;
+
+import com.springapi.shopsample.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * BoundedPasswordEncoder runs the password hashing of another encoder on a fixed pool of platform threads.
+ *
+ * Hashing a password is deliberately expensive, so with virtual threads a burst of logins would hash
+ * on every carrier thread at once and starve all other requests. Here at most the pool size of hashes
+ * runs at a time, further hashes wait in a bounded queue and once the queue is full they are rejected
+ * at once with a ServiceOverloadedException instead of waiting.
+ * The queue depth, the threads hashing, the hash time and the rejections are exported as metrics.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Timer encodeTime;
+    private final Timer matchesTime;
+    private final Counter rejections;
+
+    /**
+     * Constructs a new BoundedPasswordEncoder.
+     *
+     * @param delegate      the encoder hashing the passwords
+     * @param threads       the number of passwords hashed at a time
+     * @param queueCapacity the number of hashes waiting for a thread before further ones are rejected
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity) {
+        this.delegate = delegate;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("password-hashing-", 1).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.encodeTime = Timer.builder("auth.password.hashing.time")
+                .description("Time spent hashing a password, without the time queued")
+                .tag("operation", "encode")
+                .register(Metrics.globalRegistry);
+        this.matchesTime = Timer.builder("auth.password.hashing.time")
+                .description("Time spent hashing a password, without the time queued")
+                .tag("operation", "matches")
+                .register(Metrics.globalRegistry);
+        this.rejections = Counter.builder("auth.password.hashing.rejected")
+                .description("Password hashes rejected because the hashing queue was full")
+                .register(Metrics.globalRegistry);
+        Gauge.builder("auth.password.hashing.queue", executor, pool -> pool.getQueue().size())
+                .description("Password hashes waiting for a hashing thread")
+                .register(Metrics.globalRegistry);
+        Gauge.builder("auth.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashes in progress")
+                .register(Metrics.globalRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hash(encodeTime, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hash(matchesTime, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Stops the hashing threads.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private <T> T hash(Timer timer, Supplier<T> task) {
+        Future<T> result;
+        try {
+            result = executor.submit(() -> timer.record(task));
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            throw new ServiceOverloadedException("Too many concurrent authentication requests, please retry later");
+        }
+
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the password hash", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Failed to hash the password", e.getCause());
+        }
+    }
+}
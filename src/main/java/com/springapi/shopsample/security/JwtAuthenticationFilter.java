@@ -1,27 +1,40 @@
 package com.springapi.shopsample.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
+import org.springframework.util.function.SingletonSupplier;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
- * Filter that intercepts every request to extract and validate the JWT token
- * from the Authorization header. If valid, sets the SecurityContext.
+ * Filter that intercepts every request to extract the JWT token from the Authorization header.
+ * If the token is valid, the security context holds the authentication of its user.
+ *
+ * The token is verified and the user loaded only when the authentication is first asked for,
+ * either by the authorization rules of a protected route or by a handler reading the principal.
+ * Routes permitted to all (e.g. the product reads) never ask, so their requests skip both
+ * even when the client sends its token with every request.
  *
  * Follows SRP: only responsible for extracting JWT and populating the security context.
  */
+@Slf4j
 @Component
 @AllArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -30,7 +43,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final String BEARER_PREFIX = "Bearer ";
 
     private final JwtTokenProvider jwtTokenProvider;
-    private final UserDetailsService userDetailsService;
+    private final AppUserDetailsService userDetailsService;
+    private final SecurityContextHolderStrategy securityContextHolderStrategy = SecurityContextHolder.getContextHolderStrategy();
 
     @Override
     protected void doFilterInternal(
@@ -39,18 +53,39 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain) throws ServletException, IOException {
         String token = extractToken(request);
 
-        if (token != null && jwtTokenProvider.validateToken(token)) {
-            String username = jwtTokenProvider.getUsernameFromToken(token);
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        if (token != null) {
+            Supplier<SecurityContext> deferredContext = securityContextHolderStrategy.getDeferredContext();
+            securityContextHolderStrategy.setDeferredContext(
+                    SingletonSupplier.of(() -> authenticate(token, request, deferredContext)));
+        }
+
+        filterChain.doFilter(request, response);
+    }
 
+    private SecurityContext authenticate(String token, HttpServletRequest request, Supplier<SecurityContext> deferredContext) {
+        SecurityContext context = deferredContext.get();
+        Optional<Claims> claims = jwtTokenProvider.parseToken(token);
+        if (claims.isEmpty()) {
+            return context;
+        }
+
+        UserDetails userDetails;
+        try {
+            userDetails = userDetailsService.loadPrincipal(claims.get().getSubject());
+        } catch (UsernameNotFoundException e) {
+            log.warn("JWT token of a user that does not exist: {}", e.getMessage());
+            return context;
+        }
+
+        if (userDetails.isEnabled()) {
             UsernamePasswordAuthenticationToken authentication =
                     new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
             authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+            context = securityContextHolderStrategy.createEmptyContext();
+            context.setAuthentication(authentication);
         }
-
-        filterChain.doFilter(request, response);
+        return context;
     }
 
     private String extractToken(HttpServletRequest request) {
@@ -60,4 +95,4 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         return null;
     }
-}
\ No newline at end of file
+}
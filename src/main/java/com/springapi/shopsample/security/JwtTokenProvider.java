@@ -1,7 +1,13 @@
 package com.springapi.shopsample.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
@@ -10,25 +16,46 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Responsible for JWT token creation and validation.
  * Encapsulates all JWT-related logic in a single, testable component.
+ *
+ * Verified tokens are kept in a bounded cache keyed by the SHA-256 digest of the token,
+ * so a client repeating the same bearer token skips the signature verification.
+ * Every entry expires no later than the token's own expiration.
  */
 @Slf4j
 @Component
 public class JwtTokenProvider {
 
+    static final String VERIFIED_TOKENS_CACHE = "jwt.verified-tokens";
+
     private final SecretKey secretKey;
+    private final JwtParser jwtParser;
     private final long expirationMs;
+    private final Cache<String, Claims> verifiedTokens;
 
+    /**
+     * @param verifiedCacheMaximumSize maximum number of verified tokens to keep, {@code 0} disables the cache
+     */
     public JwtTokenProvider(
             @Value("${app.jwt.secret}") String secret,
-            @Value("${app.jwt.expiration-ms:3600000}") long expirationMs) {
+            @Value("${app.jwt.expiration-ms:3600000}") long expirationMs,
+            @Value("${app.jwt.verified-cache.maximum-size:10000}") long verifiedCacheMaximumSize) {
         this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parser()
+                .verifyWith(secretKey)
+                .build();
         this.expirationMs = expirationMs;
+        this.verifiedTokens = verifiedCacheMaximumSize > 0 ? buildVerifiedTokensCache(verifiedCacheMaximumSize) : null;
     }
 
     /**
@@ -56,21 +83,32 @@ public class JwtTokenProvider {
     }
 
     /**
-     * Extracts the username (subject) from the given JWT token.
+     * Validates the token's signature and expiration and returns its claims.
+     * The signature is verified exactly once, so callers should read everything
+     * they need from the returned claims instead of parsing the token again.
+     *
+     * @return the verified claims, or empty if the token is invalid
      */
-    public String getUsernameFromToken(String token) {
-        return parseClaims(token).getSubject();
+    public Optional<Claims> parseToken(String token) {
+        if (verifiedTokens == null || token == null) {
+            return verifyToken(token);
+        }
+
+        // getIfPresent/put instead of get(key, loader): the loader would run the HMAC
+        // verification while holding a map lock, which pins virtual threads
+        String digest = digest(token);
+        Claims cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<Claims> claims = verifyToken(token);
+        claims.ifPresent(verified -> verifiedTokens.put(digest, verified));
+        return claims;
     }
 
-    /**
-     * Validates the token's signature and expiration.
-     *
-     * @return true if the token is valid, false otherwise
-     */
-    public boolean validateToken(String token) {
+    private Optional<Claims> verifyToken(String token) {
         try {
-            parseClaims(token);
-            return true;
+            return Optional.of(parseClaims(token));
         } catch (ExpiredJwtException e) {
             log.warn("JWT token expired: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
@@ -82,14 +120,42 @@ public class JwtTokenProvider {
         } catch (IllegalArgumentException e) {
             log.warn("JWT claims string is empty: {}", e.getMessage());
         }
-        return false;
+        return Optional.empty();
     }
 
     private Claims parseClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return jwtParser.parseSignedClaims(token).getPayload();
+    }
+
+    private Cache<String, Claims> buildVerifiedTokensCache(long maximumSize) {
+        Cache<String, Claims> cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(Expiry.<String, Claims>creating((digest, claims) -> timeToExpiry(claims)))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(Metrics.globalRegistry, cache, VERIFIED_TOKENS_CACHE);
+        return cache;
+    }
+
+    private Duration timeToExpiry(Claims claims) {
+        Duration maximum = Duration.ofMillis(expirationMs);
+        Date expiration = claims.getExpiration();
+        if (expiration == null) {
+            return maximum;
+        }
+        Duration remaining = Duration.ofMillis(expiration.getTime() - System.currentTimeMillis());
+        if (remaining.isNegative()) {
+            return Duration.ZERO;
+        }
+        return remaining.compareTo(maximum) < 0 ? remaining : maximum;
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,86 @@
+package com.springapi.shopsample.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * TokenBucketRateLimiter limits the rate of requests per key with a token bucket for each key.
+ *
+ * A bucket holds up to the capacity of tokens and refills completely over the refill period, one token at a time.
+ * Its whole state is a single long - the time at which the bucket will be full again - updated with a compare-and-set,
+ * so taking a token never locks and concurrent requests for the same key never wait for each other.
+ * The buckets are kept in a cache bounded by the maximum number of keys. A bucket not used for the refill period
+ * is full again and equal to a new one, so it is evicted.
+ */
+public class TokenBucketRateLimiter {
+
+    private final long tokenInterval;
+    private final long burstWindow;
+    private final Ticker ticker;
+    private final Cache<String, AtomicLong> buckets;
+
+    /**
+     * Constructs a new TokenBucketRateLimiter.
+     *
+     * @param capacity     the number of tokens of a full bucket, i.e. the requests allowed at once
+     * @param refillPeriod the time in which an empty bucket refills completely
+     * @param maximumKeys  the number of buckets kept before the least used ones are evicted
+     */
+    public TokenBucketRateLimiter(int capacity, Duration refillPeriod, long maximumKeys) {
+        this(capacity, refillPeriod, maximumKeys, Ticker.systemTicker());
+    }
+
+    TokenBucketRateLimiter(int capacity, Duration refillPeriod, long maximumKeys, Ticker ticker) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Rate limit capacity must be at least 1, but was " + capacity);
+        }
+        if (refillPeriod.toNanos() < capacity) {
+            throw new IllegalArgumentException("Rate limit refill period is too short: " + refillPeriod);
+        }
+        this.tokenInterval = refillPeriod.toNanos() / capacity;
+        this.burstWindow = tokenInterval * capacity;
+        this.ticker = ticker;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(Duration.ofNanos(burstWindow))
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * Takes a token from the bucket of the given key.
+     *
+     * @param key the key whose requests are limited, e.g. a client address
+     * @return {@code 0} if a token was taken, otherwise the time in nanoseconds until the next token is available
+     */
+    public long acquire(String key) {
+        long now = ticker.read();
+        AtomicLong fullAt = buckets.get(key, k -> new AtomicLong(now));
+        while (true) {
+            long current = fullAt.get();
+            // Each token taken moves the time the bucket is full again by one interval;
+            // once that time is more than a full bucket ahead, the bucket is empty
+            long next = Math.max(current, now) + tokenInterval;
+            long wait = next - now - burstWindow;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Returns the approximate number of keys with a bucket.
+     *
+     * @return the number of buckets kept
+     */
+    public long keys() {
+        return buckets.estimatedSize();
+    }
+}
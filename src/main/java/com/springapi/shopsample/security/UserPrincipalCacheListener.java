@@ -0,0 +1,38 @@
+package com.springapi.shopsample.security;
+
+import com.springapi.shopsample.config.CacheConfig;
+import com.springapi.shopsample.entity.user.UserChangePublisher;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts the cached principal of a user whenever the user is updated or removed,
+ * so that e.g. disabling a user or changing their roles takes effect on their next request.
+ * A renamed user is evicted under both the former and the new username.
+ * The evictions of the transaction-aware users cache apply once the change committed.
+ * <p>
+ * Listens to the events of UserChangePublisher, which sees changes of managed entities only:
+ * after JPQL or SQL bulk updates and deletes, evict through AppUserDetailsService.evictPrincipal.
+ */
+@Component
+public class UserPrincipalCacheListener {
+
+    private final CacheManager cacheManager;
+
+    public UserPrincipalCacheListener(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @EventListener
+    public void evictPrincipal(UserChangePublisher.Changed event) {
+        Cache cache = cacheManager.getCache(CacheConfig.USERS_CACHE);
+        if (cache != null) {
+            cache.evict(event.username());
+            if (!event.previousUsername().equals(event.username())) {
+                cache.evict(event.previousUsername());
+            }
+        }
+    }
+}
@@ -1,11 +1,17 @@
 package com.springapi.shopsample.service;
 
+import com.springapi.shopsample.dto.BatchResultDto;
+import com.springapi.shopsample.dto.BulkDeleteResultDto;
+import com.springapi.shopsample.dto.CountMode;
+import com.springapi.shopsample.dto.CursorPagingDto;
 import com.springapi.shopsample.dto.IdentifiedDto;
 import com.springapi.shopsample.dto.PagingDto;
 import com.springapi.shopsample.entity.IdentifiedEntity;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * BaseService is a generic interface that defines common CRUD operations
@@ -25,6 +31,16 @@ public interface BaseService<E extends IdentifiedEntity<ID>, D extends Identifie
      */
     Optional<D> create(D entity);
 
+    /**
+     * Creates new entities in bulk.
+     * The entities are stored in chunks, each in its own transaction, so a failing item
+     * does not roll back the items of other chunks; every item is reported separately.
+     *
+     * @param dtos the DTOs to create the entities from
+     * @return the result of every item, in the order of the given DTOs
+     */
+    BatchResultDto<D> createAll(List<D> dtos);
+
     /**
      * Retrieves an entity by its identifier.
      *
@@ -41,13 +57,33 @@ public interface BaseService<E extends IdentifiedEntity<ID>, D extends Identifie
      */
     Optional<D> update(D entity);
 
+    /**
+     * Updates existing entities in bulk.
+     * The entities are stored in chunks, each in its own transaction, so a failing item
+     * does not roll back the items of other chunks; every item is reported separately.
+     *
+     * @param dtos the DTOs to update the entities from
+     * @return the result of every item, in the order of the given DTOs
+     */
+    BatchResultDto<D> updateAll(List<D> dtos);
+
     /**
      * Deletes an entity by its identifier.
      *
      * @param id the identifier of the entity to delete
+     * @throws com.springapi.shopsample.exception.ResourceNotFoundException if no entity has the given identifier
      */
     void delete(ID id);
 
+    /**
+     * Deletes the entities with the given identifiers in bulk.
+     * Identifiers that match no entity are counted as not found instead of failing the operation.
+     *
+     * @param ids the identifiers of the entities to delete
+     * @return the numbers of requested, deleted and not found identifiers
+     */
+    BulkDeleteResultDto deleteAll(Collection<ID> ids);
+
     /**
      * Retrieves all entities.
      *
@@ -56,11 +92,39 @@ public interface BaseService<E extends IdentifiedEntity<ID>, D extends Identifie
     List<D> findAll();
 
     /**
-     * Retrieves all entities with pagination.
+     * Streams all entities ordered by identifier to the given consumer, one DTO at a time.
+     * Entities are not accumulated in memory, so the memory use does not depend on the number of entities.
+     *
+     * @param consumer the consumer receiving each DTO
+     */
+    void streamAll(Consumer<D> consumer);
+
+    /**
+     * Retrieves all entities ordered by identifier with pagination.
      *
      * @param page the page number to retrieve
      * @param size the number of entities per page
      * @return a PagingDto containing the entities for the specified page
      */
     PagingDto<D> findAllWithPaging(int page, int size);
+
+    /**
+     * Retrieves all entities ordered by identifier with pagination, obtaining the total count as specified by the count mode.
+     *
+     * @param page      the page number to retrieve
+     * @param size      the number of entities per page
+     * @param countMode how the total number of entities is obtained
+     * @return a PagingDto containing the entities for the specified page
+     */
+    PagingDto<D> findAllWithPaging(int page, int size, CountMode countMode);
+
+    /**
+     * Retrieves entities ordered by identifier using keyset (cursor based) pagination.
+     * Every page is served by the same index range scan, regardless of its depth.
+     *
+     * @param after the identifier of the last entity of the previous page, or null for the first page
+     * @param size  the number of entities per page
+     * @return a CursorPagingDto containing the entities following the given identifier
+     */
+    CursorPagingDto<D> findAllAfter(ID after, int size);
 }
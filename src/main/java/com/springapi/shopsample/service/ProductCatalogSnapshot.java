@@ -0,0 +1,215 @@
+package com.springapi.shopsample.service;
+
+import com.springapi.shopsample.dto.product.ProductDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+import tools.jackson.databind.SequenceWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * ProductCatalogSnapshot keeps the JSON array of all products, ordered by ID, encoded in memory,
+ * so the full product list can be written as bytes without reading and serializing the products per request.
+ *
+ * The snapshot is rebuilt by a background thread at startup and after every change of the ProductCatalogVersion.
+ * It is served only while it matches the current catalog version; until a rebuild finished, callers fall back
+ * to reading the products. The products are read in a read-write transaction, so they come from the primary
+ * even if read replicas have not replayed the change yet. A catalog encoding to more than the maximum size is not kept.
+ * The gzip-compressed copy is compressed once per rebuild, so it defaults to the best compression level.
+ */
+@Component
+public class ProductCatalogSnapshot implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductCatalogSnapshot.class);
+
+    private final ProductService productService;
+    private final ProductCatalogVersion catalogVersion;
+    private final JsonMapper jsonMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final long maxSize;
+    private final boolean gzip;
+    private final int gzipLevel;
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(Thread.ofPlatform()
+            .name("catalog-snapshot")
+            .daemon()
+            .factory());
+    private volatile Snapshot current;
+
+    /**
+     * Constructs a new ProductCatalogSnapshot.
+     *
+     * @param productService     the service reading the products
+     * @param catalogVersion     the version of the catalog the snapshot must match
+     * @param jsonMapper         the mapper encoding the products
+     * @param transactionManager the transaction manager of the rebuild
+     * @param maxSize            the maximum size of the encoded catalog
+     * @param gzip               whether a gzip-compressed copy is kept as well
+     * @param gzipLevel          the compression level of the gzip-compressed copy, from 1 to 9
+     */
+    public ProductCatalogSnapshot(ProductService productService, ProductCatalogVersion catalogVersion, JsonMapper jsonMapper,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${app.catalog.snapshot.max-size:64MB}") DataSize maxSize,
+                                  @Value("${app.catalog.snapshot.gzip:true}") boolean gzip,
+                                  @Value("${app.catalog.snapshot.gzip-level:9}") int gzipLevel) {
+        if (gzipLevel < Deflater.BEST_SPEED || gzipLevel > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("The gzip level must be between 1 and 9: " + gzipLevel);
+        }
+        this.productService = productService;
+        this.catalogVersion = catalogVersion;
+        this.jsonMapper = jsonMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxSize = maxSize.toBytes();
+        this.gzip = gzip;
+        this.gzipLevel = gzipLevel;
+    }
+
+    /**
+     * Returns the encoded catalog if the snapshot matches the current catalog version.
+     *
+     * @param gzipped whether the gzip-compressed copy is requested
+     * @return the JSON array of all products, or an empty Optional if the snapshot is not up to date
+     * or has no gzip-compressed copy
+     */
+    public Optional<byte[]> get(boolean gzipped) {
+        Snapshot snapshot = current;
+        if (snapshot == null || snapshot.version() != catalogVersion.getVersion()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(gzipped ? snapshot.gzippedJson() : snapshot.json());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        scheduleRebuild();
+    }
+
+    @EventListener
+    public void onCatalogChanged(ProductCatalogVersion.Changed event) {
+        scheduleRebuild();
+    }
+
+    /**
+     * Rebuilds the snapshot from the products stored now.
+     */
+    public void rebuild() {
+        // The version is read before the products, so a snapshot is never labelled newer than its content
+        long version = catalogVersion.getVersion();
+        BoundedOutputStream json = new BoundedOutputStream(maxSize);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (SequenceWriter writer = jsonMapper.writerFor(ProductDto.class).writeValuesAsArray(json)) {
+                    productService.streamAll(writer::write);
+                }
+            });
+        } catch (CatalogTooLargeException e) {
+            logger.warn("Product catalog exceeds the snapshot maximum size of {} bytes, it is not kept in memory", maxSize);
+            current = null;
+            return;
+        }
+
+        byte[] jsonBytes = json.toByteArray();
+        current = new Snapshot(version, jsonBytes, gzip ? compress(jsonBytes, gzipLevel) : null);
+        logger.debug("Rebuilt product catalog snapshot of version {}: {} bytes", version, jsonBytes.length);
+    }
+
+    /**
+     * Stops the background rebuilds.
+     */
+    @Override
+    public void close() {
+        rebuilder.shutdownNow();
+    }
+
+    private void scheduleRebuild() {
+        // Changes made while a rebuild is queued are covered by that rebuild, a running rebuild queues another one
+        if (rebuildPending.compareAndSet(false, true)) {
+            rebuilder.execute(() -> {
+                rebuildPending.set(false);
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    logger.error("Failed to rebuild the product catalog snapshot", e);
+                }
+            });
+        }
+    }
+
+    private static byte[] compress(byte[] bytes, int level) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzipStream = new LeveledGZIPOutputStream(compressed, level)) {
+            gzipStream.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    private record Snapshot(long version, byte[] json, byte[] gzippedJson) {
+    }
+
+    /**
+     * A gzip output stream compressing at the given level instead of the default one.
+     */
+    private static class LeveledGZIPOutputStream extends GZIPOutputStream {
+
+        LeveledGZIPOutputStream(OutputStream out, int level) throws IOException {
+            super(out);
+            def.setLevel(level);
+        }
+    }
+
+    /**
+     * A byte array output stream failing once more than the maximum number of bytes is written.
+     */
+    private static class BoundedOutputStream extends ByteArrayOutputStream {
+
+        private final long maxSize;
+
+        BoundedOutputStream(long maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public synchronized void write(int b) {
+            checkSize(1);
+            super.write(b);
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            checkSize(len);
+            super.write(b, off, len);
+        }
+
+        private void checkSize(int len) {
+            if (count + len > maxSize) {
+                throw new CatalogTooLargeException();
+            }
+        }
+    }
+
+    private static class CatalogTooLargeException extends RuntimeException {
+
+        CatalogTooLargeException() {
+            super(null, null, false, false);
+        }
+    }
+}
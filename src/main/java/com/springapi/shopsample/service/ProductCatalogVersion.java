@@ -0,0 +1,140 @@
+package com.springapi.shopsample.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * ProductCatalogVersion tracks the version of the product catalog in this process,
+ * so conditional GET requests for products can be answered without reading the database.
+ *
+ * Every product write records a change once its transaction completed, which invalidates the ETag
+ * and moves the Last-Modified time of every product response to the second of the change, never past the clock.
+ * Changes within the same second are told apart by the ETag alone: Last-Modified is only issued once
+ * the second of the last change is over, so it never stands for two different catalogs.
+ * The ETag carries a random identifier of the process, so validators issued before a restart,
+ * or by another process, never match.
+ * For the settle time after a change no validators are issued, so a response read from a replica
+ * that has not replayed the change yet cannot be confirmed later by a 304.
+ * The ETag is weak, as the same version is sent in several encodings and compressed or not.
+ * Every recorded change is published as a Changed event.
+ *
+ * The version only sees the writes made through this process, like the products cache only sees its evictions:
+ * the application assumes a single instance. Behind a load balancer, an instance would keep confirming
+ * by 304 a catalog another instance has changed.
+ */
+@Component
+public class ProductCatalogVersion {
+
+    private final Duration settleTime;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+    private final String epoch;
+    private final AtomicReference<Version> current;
+
+    /**
+     * Constructs a new ProductCatalogVersion.
+     *
+     * @param settleTime     how long after a change no validators are issued
+     * @param eventPublisher the publisher of the Changed events
+     */
+    @Autowired
+    public ProductCatalogVersion(@Value("${app.catalog.settle-time:0s}") Duration settleTime,
+                                 ApplicationEventPublisher eventPublisher) {
+        this(settleTime, eventPublisher, Clock.systemUTC());
+    }
+
+    ProductCatalogVersion(Duration settleTime, ApplicationEventPublisher eventPublisher, Clock clock) {
+        this.settleTime = settleTime;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+        this.epoch = Long.toString(new SecureRandom().nextLong() & Long.MAX_VALUE, Character.MAX_RADIX);
+        this.current = new AtomicReference<>(new Version(0, clock.instant().truncatedTo(ChronoUnit.SECONDS), Instant.MIN));
+    }
+
+    /**
+     * Records a change of the catalog.
+     * Inside a transaction the change is recorded once the transaction completed, so a response
+     * read before the commit never carries the validators of the changed catalog.
+     */
+    public void changed() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    increment();
+                }
+            });
+        } else {
+            increment();
+        }
+    }
+
+    /**
+     * Returns the current catalog version, a number growing with every recorded change.
+     *
+     * @return the current version
+     */
+    public long getVersion() {
+        return current.get().counter();
+    }
+
+    /**
+     * Returns the validators of the current catalog version.
+     * Read them before the products, so the validators are never newer than the body they are sent with.
+     *
+     * @return the validators, or null within the settle time after a change
+     */
+    public Validators getValidators() {
+        Version version = current.get();
+        Instant now = clock.instant();
+        if (now.isBefore(version.changedAt().plus(settleTime))) {
+            return null;
+        }
+        // Last-Modified has a resolution of one second, another change may still follow within it
+        long lastModified = now.isBefore(version.lastModified().plusSeconds(1)) ? -1 : version.lastModified().toEpochMilli();
+        return new Validators("W/\"" + epoch + "-" + version.counter() + "\"", lastModified);
+    }
+
+    private void increment() {
+        Instant now = clock.instant();
+        Version changed = current.updateAndGet(version -> new Version(version.counter() + 1,
+                max(now.truncatedTo(ChronoUnit.SECONDS), version.lastModified()), now));
+        eventPublisher.publishEvent(new Changed(changed.counter()));
+    }
+
+    private static Instant max(Instant first, Instant second) {
+        return first.isAfter(second) ? first : second;
+    }
+
+    /**
+     * The validators of a catalog version.
+     *
+     * @param etag         the weak entity tag
+     * @param lastModified the last modification time in milliseconds since the epoch,
+     *                     or -1 while the second of the last change is not over
+     */
+    public record Validators(String etag, long lastModified) {
+    }
+
+    /**
+     * The event published when a change of the catalog was recorded.
+     *
+     * @param version the catalog version after the change
+     */
+    public record Changed(long version) {
+    }
+
+    private record Version(long counter, Instant lastModified, Instant changedAt) {
+    }
+}
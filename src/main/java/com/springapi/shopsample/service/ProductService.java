@@ -1,8 +1,13 @@
 package com.springapi.shopsample.service;
 
+import com.springapi.shopsample.dto.CountMode;
+import com.springapi.shopsample.dto.PagingDto;
 import com.springapi.shopsample.dto.product.ProductDto;
 import com.springapi.shopsample.dto.product.ProductDescriptionUpdateRequestDto;
+import com.springapi.shopsample.dto.product.ProductFilterDto;
+import com.springapi.shopsample.dto.product.ProductSortField;
 import com.springapi.shopsample.entity.product.ProductEntity;
+import org.springframework.data.domain.Sort;
 
 import java.util.Optional;
 
@@ -22,4 +27,30 @@ public interface ProductService extends BaseService<ProductEntity, ProductDto, L
      * @return an Optional containing the updated ProductDto, or an empty Optional if the update failed
      */
     Optional<ProductDto> updateDescription(Long id, ProductDescriptionUpdateRequestDto dto);
+
+    /**
+     * Retrieves the products matching a filter with pagination, sorted by the given field.
+     * Products with equal values of the sort field are ordered by ID, so the order is stable across pages.
+     * With a filter, the ESTIMATED and CACHED count modes omit the total count.
+     *
+     * @param page      the page number to retrieve
+     * @param size      the number of products per page
+     * @param countMode how the total number of products is obtained
+     * @param filter    the filter of the products
+     * @param sortBy    the field to sort by
+     * @param direction the sort direction
+     * @return a PagingDto containing the products for the specified page
+     */
+    PagingDto<ProductDto> findAllWithPaging(int page, int size, CountMode countMode,
+                                            ProductFilterDto filter, ProductSortField sortBy, Sort.Direction direction);
+
+    /**
+     * Searches the products by their name and description, best matches first.
+     *
+     * @param query the full-text search query
+     * @param page  the page number (1-based)
+     * @param size  the page size
+     * @return a PagingDto containing the matching ProductDto objects
+     */
+    PagingDto<ProductDto> search(String query, int page, int size);
 }
@@ -11,13 +11,16 @@ import com.springapi.shopsample.security.JwtTokenProvider;
 import com.springapi.shopsample.service.AuthService;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -25,7 +28,7 @@ import java.util.Set;
  *
  * Responsibilities (SRP):
  * - Orchestrates login via Spring Security's AuthenticationManager
- * - Orchestrates registration with duplicate checking and password encoding
+ * - Orchestrates registration with password encoding, duplicates rejected by the database's unique constraints
  * - Delegates token creation to JwtTokenProvider
  */
 @Slf4j
@@ -50,28 +53,41 @@ public class AuthServiceImpl implements AuthService {
     }
 
     @Override
-    @Transactional
     public AuthResponseDto register(RegisterRequestDto request) {
-        if (userRepository.existsByUsername(request.getUsername())) {
-            throw new ResourceConflictException("Username is already taken");
-        }
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new ResourceConflictException("Email is already in use");
-        }
-
         UserEntity user = new UserEntity();
         user.setUsername(request.getUsername());
         user.setEmail(request.getEmail());
+        // Hashed before the insert, so no connection is held while the password is hashed
         user.setPassword(passwordEncoder.encode(request.getPassword()));
         user.setRoles(Set.of(Role.ROLE_USER));
 
-        userRepository.save(user);
+        // Duplicates are detected by the unique constraints, so no lookup precedes the insert
+        // and concurrent registrations of the same username cannot both pass
+        try {
+            userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw new ResourceConflictException(conflictMessage(e));
+        }
         log.info("User '{}' registered successfully", request.getUsername());
 
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
-        );
-
+        // The token is issued from the saved user; the password was just set, so it is not checked again
+        List<SimpleGrantedAuthority> authorities = user.getRoles().stream()
+                .map(role -> new SimpleGrantedAuthority(role.name()))
+                .toList();
+        Authentication authentication = UsernamePasswordAuthenticationToken.authenticated(user.getUsername(), null, authorities);
         return new AuthResponseDto(jwtTokenProvider.generateToken(authentication));
     }
+
+    private static String conflictMessage(DataIntegrityViolationException e) {
+        String constraintName = e.getCause() instanceof ConstraintViolationException violation
+                ? violation.getConstraintName()
+                : null;
+        if (UserEntity.USERNAME_CONSTRAINT.equals(constraintName)) {
+            return "Username is already taken";
+        }
+        if (UserEntity.EMAIL_CONSTRAINT.equals(constraintName)) {
+            return "Email is already in use";
+        }
+        return "Username or email is already in use";
+    }
 }
\ No newline at end of file
@@ -1,25 +1,57 @@
 package com.springapi.shopsample.service.impl;
 
+import com.springapi.shopsample.dto.BatchItemResultDto;
+import com.springapi.shopsample.dto.BatchResultDto;
+import com.springapi.shopsample.dto.BulkDeleteResultDto;
+import com.springapi.shopsample.dto.CountMode;
+import com.springapi.shopsample.dto.CursorPagingDto;
 import com.springapi.shopsample.dto.IdentifiedDto;
 import com.springapi.shopsample.dto.PagingDto;
 import com.springapi.shopsample.entity.IdentifiedEntity;
+import com.springapi.shopsample.exception.ResourceNotFoundException;
 import com.springapi.shopsample.mapper.BaseMapper;
+import com.springapi.shopsample.repository.BaseRepository;
 import com.springapi.shopsample.service.BaseService;
+import com.springapi.shopsample.util.CursorCodec;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * BaseServiceImpl is an abstract class that provides basic CRUD operations.
- * It implements the IBaseService interface and uses a JpaRepository for data access.
+ * It implements the IBaseService interface and uses a BaseRepository for data access.
  *
  * @param <E>  the type of the entity
  * @param <D>  the type of the DTO
@@ -27,22 +59,77 @@ import java.util.stream.Collectors;
  */
 public abstract class BaseServiceImpl<E extends IdentifiedEntity<ID>, D extends IdentifiedDto<ID>, ID> implements BaseService<E, D, ID> {
 
+    /**
+     * The name of the identifier attribute shared by all entities.
+     */
+    protected static final String ID_ATTRIBUTE = "id";
+
     protected final Logger logger = LoggerFactory.getLogger(this.getClass());
 
-    private final JpaRepository<E, ID> repository;
+    private final BaseRepository<E, ID> repository;
     private final BaseMapper<E, D> mapper;
+    private final AtomicReference<CachedCount> cachedCount = new AtomicReference<>();
+
+    private Duration countCacheTtl = Duration.ofSeconds(30);
+    private int batchChunkSize = 500;
+    private Validator validator;
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     /**
      * Constructs a new BaseServiceImpl with the given repository and mapper.
      *
-     * @param repository the JpaRepository to use for data access
+     * @param repository the BaseRepository to use for data access
      * @param mapper     the IBaseMapper to use for entity-DTO mapping
      */
-    protected BaseServiceImpl(JpaRepository<E, ID> repository, BaseMapper<E, D> mapper) {
+    protected BaseServiceImpl(BaseRepository<E, ID> repository, BaseMapper<E, D> mapper) {
         this.repository = repository;
         this.mapper = mapper;
     }
 
+    /**
+     * Sets how long a total count computed in CACHED count mode is reused.
+     *
+     * @param countCacheTtl the time to live of the cached total count
+     */
+    @Value("${app.paging.count-cache-ttl:30s}")
+    public void setCountCacheTtl(Duration countCacheTtl) {
+        this.countCacheTtl = countCacheTtl;
+    }
+
+    /**
+     * Sets how many items of a batch operation are stored in a single transaction.
+     * Bulk deletes use the same size for the number of IDs per statement.
+     *
+     * @param batchChunkSize the number of items per transaction
+     */
+    @Value("${app.batch.chunk-size:500}")
+    public void setBatchChunkSize(int batchChunkSize) {
+        this.batchChunkSize = batchChunkSize;
+    }
+
+    /**
+     * Sets the validator used to check the items of batch operations one by one.
+     *
+     * @param validator the Bean Validation validator
+     */
+    @Autowired
+    public void setValidator(Validator validator) {
+        this.validator = validator;
+    }
+
+    /**
+     * Sets the transaction manager used to store every chunk of a batch operation in its own transaction.
+     *
+     * @param transactionManager the transaction manager
+     */
+    @Autowired
+    public void setTransactionManager(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
     /**
      * Creates a new entity from the given DTO.
      *
@@ -62,6 +149,14 @@ public abstract class BaseServiceImpl<E extends IdentifiedEntity<ID>, D extends
         return Optional.of(mapper.toDto(savedEntity));
     }
 
+    @Override
+    public BatchResultDto<D> createAll(List<D> dtos) {
+        logger.debug("Creating {} entities in batch", dtos.size());
+        BatchResultDto<D> result = processInChunks(dtos, false, this::createChunk);
+        logger.info("Created {} entities in batch, {} failed", result.getSucceeded(), result.getFailed());
+        return result;
+    }
+
     /**
      * Retrieves an entity by its ID and converts it to a DTO.
      *
@@ -69,9 +164,10 @@ public abstract class BaseServiceImpl<E extends IdentifiedEntity<ID>, D extends
      * @return an Optional containing the DTO, or an empty Optional if the entity is not found
      */
     @Override
+    @Transactional(readOnly = true)
     public Optional<D> getById(ID id) {
         logger.debug("Fetching entity with ID {}", id);
-        Optional<D> result = repository.findById(id).map(mapper::toDto);
+        Optional<D> result = fetchById(id);
         if (result.isPresent()) {
             logger.debug("Entity with ID {} found", id);
         } else {
@@ -97,57 +193,384 @@ public abstract class BaseServiceImpl<E extends IdentifiedEntity<ID>, D extends
             logger.warn("Attempted to update a DTO with null ID");
             return Optional.empty();
         }
-        if (!repository.existsById(dto.getId())) {
+        // The loaded entity is managed, so the changes are written by dirty checking at commit:
+        // one select and one update, without the existence check and the merge select of save()
+        Optional<E> entity = repository.findById(dto.getId());
+        if (entity.isEmpty()) {
             logger.warn("Entity with ID {} does not exist", dto.getId());
             return Optional.empty();
         }
-        E entity = mapper.toEntity(dto);
-        entity.setId(dto.getId());
-        E updatedEntity = repository.save(entity);
+        E updatedEntity = entity.get();
+        mapper.updateEntityFromDto(dto, updatedEntity);
         logger.info("Updated entity with ID {}", updatedEntity.getId());
         return Optional.of(mapper.toDto(updatedEntity));
     }
 
+    @Override
+    public BatchResultDto<D> updateAll(List<D> dtos) {
+        logger.debug("Updating {} entities in batch", dtos.size());
+        BatchResultDto<D> result = processInChunks(dtos, true, this::updateChunk);
+        logger.info("Updated {} entities in batch, {} failed", result.getSucceeded(), result.getFailed());
+        return result;
+    }
+
     /**
-     * Deletes an entity by its ID.
+     * Deletes an entity by its ID with a single DELETE statement.
+     * The number of deleted rows tells whether the entity existed.
      *
      * @param id the ID of the entity to delete
-     * @throws RuntimeException if the entity does not exist
+     * @throws ResourceNotFoundException if the entity does not exist
      */
     @Override
     @Transactional
     public void delete(ID id) {
         logger.debug("Attempting to delete entity with ID {}", id);
-        if (repository.existsById(id)) {
-            repository.deleteById(id);
-            logger.info("Deleted entity with ID {}", id);
-        } else {
+        if (repository.deleteByIdReturningCount(id) == 0) {
             logger.warn("Entity with ID {} does not exist", id);
-            throw new RuntimeException("Entity with ID " + id + " does not exist.");
+            throw new ResourceNotFoundException("Entity with ID " + id + " does not exist.");
+        }
+        logger.info("Deleted entity with ID {}", id);
+    }
+
+    /**
+     * Deletes the entities with the given IDs, one DELETE statement and one transaction per chunk of IDs.
+     *
+     * @param ids the IDs of the entities to delete
+     * @return the numbers of requested, deleted and not found IDs
+     */
+    @Override
+    public BulkDeleteResultDto deleteAll(Collection<ID> ids) {
+        List<ID> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        logger.debug("Deleting {} entities in bulk", distinctIds.size());
+        int deleted = 0;
+        for (int from = 0; from < distinctIds.size(); from += batchChunkSize) {
+            List<ID> chunk = distinctIds.subList(from, Math.min(from + batchChunkSize, distinctIds.size()));
+            deleted += Objects.requireNonNull(transactionTemplate.execute(status -> repository.deleteAllByIdInReturningCount(chunk)));
         }
+        logger.info("Deleted {} of {} entities in bulk", deleted, distinctIds.size());
+        return new BulkDeleteResultDto(distinctIds.size(), deleted);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<D> findAll() {
         logger.debug("Fetching all entities");
-        List<D> result = repository.findAll().stream()
-                .map(mapper::toDto)
-                .collect(Collectors.toList());
+        List<D> result = fetchAll();
         logger.debug("Fetched {} entities", result.size());
         return result;
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<D> consumer) {
+        logger.debug("Streaming all entities");
+        try (Stream<D> dtos = fetchStream()) {
+            dtos.forEach(consumer);
+        }
+        logger.debug("Finished streaming all entities");
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public PagingDto<D> findAllWithPaging(int page, int size) {
-        logger.debug("Fetching entities with paging - page: {}, size: {}", page, size);
-        Pageable pageable = PageRequest.of(page - 1, size);
-        Page<E> entities = repository.findAll(pageable);
+        return findAllWithPaging(page, size, CountMode.EXACT);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PagingDto<D> findAllWithPaging(int page, int size, CountMode countMode) {
+        return findAllWithPaging(page, size, countMode, null, Sort.by(ID_ATTRIBUTE));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPagingDto<D> findAllAfter(ID after, int size) {
+        logger.debug("Fetching entities with keyset paging - after: {}, size: {}", after, size);
 
-        List<D> dtoList = entities.stream()
+        // One extra row tells whether a next page exists without running a count query
+        List<D> fetched = fetchAfter(after, size + 1);
+
+        boolean hasNext = fetched.size() > size;
+        List<D> dtoList = hasNext ? fetched.subList(0, size) : fetched;
+
+        String nextCursor = hasNext ? CursorCodec.encode(dtoList.getLast().getId()) : null;
+        logger.debug("Fetched {} entities with keyset paging", dtoList.size());
+        return new CursorPagingDto<>(dtoList, size, nextCursor);
+    }
+
+    /**
+     * Runs a batch operation chunk by chunk, each chunk in its own transaction.
+     * Items failing validation are reported without touching the database. If a chunk fails as a whole,
+     * its items are stored again one by one, so that only the offending items are reported as failed.
+     *
+     * @param dtos      the DTOs of the batch
+     * @param requireId whether every DTO must carry an identifier
+     * @param operation stores the valid DTOs of a chunk and returns the stored DTOs in the same order,
+     *                  an empty Optional for a DTO whose entity does not exist
+     * @return the result of every item, in the order of the given DTOs
+     */
+    private BatchResultDto<D> processInChunks(List<D> dtos, boolean requireId, Function<List<D>, List<Optional<D>>> operation) {
+        List<BatchItemResultDto<D>> results = new ArrayList<>(Collections.nCopies(dtos.size(), null));
+        for (int from = 0; from < dtos.size(); from += batchChunkSize) {
+            int to = Math.min(from + batchChunkSize, dtos.size());
+            List<Integer> valid = new ArrayList<>();
+            for (int index = from; index < to; index++) {
+                List<String> errors = validate(dtos.get(index), requireId);
+                if (errors.isEmpty()) {
+                    valid.add(index);
+                } else {
+                    results.set(index, BatchItemResultDto.failed(index, errors));
+                }
+            }
+            if (valid.isEmpty()) {
+                continue;
+            }
+
+            try {
+                List<Optional<D>> stored = transactionTemplate.execute(status -> operation.apply(valid.stream().map(dtos::get).toList()));
+                for (int i = 0; i < valid.size(); i++) {
+                    int index = valid.get(i);
+                    results.set(index, toItemResult(index, dtos.get(index), stored.get(i)));
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Batch chunk of items {} to {} failed, storing its items one by one: {}", from, to - 1, e.getMessage());
+                for (int index : valid) {
+                    D dto = dtos.get(index);
+                    try {
+                        Optional<D> stored = transactionTemplate.execute(status -> operation.apply(List.of(dto)).getFirst());
+                        results.set(index, toItemResult(index, dto, stored));
+                    } catch (RuntimeException itemException) {
+                        String reason = NestedExceptionUtils.getMostSpecificCause(itemException).getMessage();
+                        results.set(index, BatchItemResultDto.failed(index, List.of("Item could not be stored: " + reason)));
+                    }
+                }
+            }
+        }
+        return new BatchResultDto<>(results);
+    }
+
+    private List<String> validate(D dto, boolean requireId) {
+        if (dto == null) {
+            return List.of("Item must not be null");
+        }
+        List<String> errors = new ArrayList<>();
+        if (requireId && dto.getId() == null) {
+            errors.add("ID is required");
+        }
+        if (validator != null) {
+            validator.validate(dto).stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .forEach(errors::add);
+        }
+        return errors;
+    }
+
+    private BatchItemResultDto<D> toItemResult(int index, D dto, Optional<D> stored) {
+        return stored
+                .map(item -> BatchItemResultDto.succeeded(index, item))
+                .orElseGet(() -> BatchItemResultDto.failed(index, List.of("Entity with ID " + dto.getId() + " does not exist.")));
+    }
+
+    private List<Optional<D>> createChunk(List<D> dtos) {
+        List<E> entities = dtos.stream()
+                .map(dto -> {
+                    E entity = mapper.toEntity(dto);
+                    // Identifiers are always generated; a client supplied one would turn the insert into a merge
+                    entity.setId(null);
+                    return entity;
+                })
+                .toList();
+        return repository.saveAllAndFlush(entities).stream()
                 .map(mapper::toDto)
+                .map(Optional::of)
+                .toList();
+    }
+
+    private List<Optional<D>> updateChunk(List<D> dtos) {
+        // One select for the whole chunk, the changes are then written by dirty checking in JDBC batches
+        Map<ID, E> entities = repository.findAllById(dtos.stream().map(IdentifiedDto::getId).toList()).stream()
+                .collect(Collectors.toMap(IdentifiedEntity::getId, Function.identity()));
+        List<Optional<E>> updated = dtos.stream()
+                .map(dto -> Optional.ofNullable(entities.get(dto.getId())).map(entity -> {
+                    mapper.updateEntityFromDto(dto, entity);
+                    return entity;
+                }))
                 .toList();
+        repository.flush();
+        return updated.stream()
+                .map(entity -> entity.map(mapper::toDto))
+                .toList();
+    }
+
+    /**
+     * Reads the DTO of the entity with the given ID.
+     * This and the other fetch methods load managed entities and map them; subclasses may override them
+     * with projection queries selecting only the columns of the DTO.
+     *
+     * @param id the ID of the entity
+     * @return an Optional containing the DTO, or an empty Optional if the entity is not found
+     */
+    protected Optional<D> fetchById(ID id) {
+        return repository.findById(id).map(mapper::toDto);
+    }
+
+    /**
+     * Reads the DTOs of all entities.
+     *
+     * @return the DTOs of all entities
+     */
+    protected List<D> fetchAll() {
+        return repository.findAll().stream()
+                .map(mapper::toDto)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Reads a page of the DTOs of the entities matching a specification, together with their total number.
+     *
+     * @param spec     the specification the entities must match
+     * @param pageable the page to read, including its order
+     * @return the page of DTOs
+     */
+    protected Page<D> fetchPage(Specification<E> spec, Pageable pageable) {
+        return repository.findAll(spec, pageable).map(mapper::toDto);
+    }
+
+    /**
+     * Reads a page of the DTOs of the entities matching a specification without counting the entities.
+     * A Slice fetches one extra row to tell whether a next page exists.
+     *
+     * @param spec     the specification the entities must match
+     * @param pageable the page to read, including its order
+     * @return the slice of DTOs
+     */
+    protected Slice<D> fetchSlice(Specification<E> spec, Pageable pageable) {
+        return repository.findBy(spec, query -> query.slice(pageable))
+                .map(mapper::toDto);
+    }
 
-        logger.debug("Fetched {} entities with paging", entities.getTotalElements());
-        return new PagingDto<>(dtoList, (int) entities.getTotalElements(), page, size);
+    /**
+     * Reads the DTOs of the entities following the given ID, ordered by ID.
+     *
+     * @param after the ID to start after, or null to start with the first entity
+     * @param limit the maximum number of DTOs to read
+     * @return the DTOs following the given ID
+     */
+    protected List<D> fetchAfter(ID after, int limit) {
+        Specification<E> spec = after == null ? Specification.unrestricted() : idGreaterThan(after);
+        return repository.findBy(spec, query -> query
+                        .sortBy(Sort.by(ID_ATTRIBUTE))
+                        .limit(limit)
+                        .all())
+                .stream()
+                .map(mapper::toDto)
+                .toList();
+    }
+
+    /**
+     * Opens a stream of the DTOs of all entities ordered by ID. The stream must be closed by the caller.
+     *
+     * @return the stream of DTOs
+     */
+    protected Stream<D> fetchStream() {
+        return repository.streamAllByOrderByIdAsc().map(entity -> {
+            D dto = mapper.toDto(entity);
+            // Detach each row once it is mapped, so the persistence context does not grow with the table
+            entityManager.detach(entity);
+            return dto;
+        });
+    }
+
+    /**
+     * Builds a specification matching entities whose identifier is greater than the given one.
+     *
+     * @param after the identifier to compare with
+     * @return the specification
+     */
+    @SuppressWarnings("unchecked")
+    private Specification<E> idGreaterThan(ID after) {
+        return (root, query, cb) -> cb.greaterThan(root.<Comparable<Object>>get(ID_ATTRIBUTE), (Comparable<Object>) after);
+    }
+
+    /**
+     * Estimates the total number of entities from database statistics.
+     * Subclasses backed by a database that keeps such statistics should override this method.
+     *
+     * @return the estimated number of entities, or an empty OptionalLong if no estimate is available
+     */
+    protected OptionalLong estimateCount() {
+        return OptionalLong.empty();
+    }
+
+    /**
+     * Retrieves the entities matching a filter with pagination, in the given order.
+     * A filtered total count can be neither estimated nor shared with other filters, so with a filter
+     * the ESTIMATED and CACHED count modes omit the total count, as NONE does.
+     *
+     * @param page      the page number to retrieve
+     * @param size      the number of entities per page
+     * @param countMode how the total number of entities is obtained
+     * @param filter    the filter of the entities, or null to page over all entities
+     * @param sort      the order of the entities, which should end with a unique attribute to be stable across pages
+     * @return a PagingDto containing the entities for the specified page
+     */
+    protected PagingDto<D> findAllWithPaging(int page, int size, CountMode countMode, Specification<E> filter, Sort sort) {
+        logger.debug("Fetching entities with paging - page: {}, size: {}, count mode: {}, filtered: {}, sort: {}",
+                page, size, countMode, filter != null, sort);
+        Timer timer = Metrics.timer("shop.paging.requests",
+                "service", getClass().getSimpleName(), "count.mode", countMode.name());
+        Specification<E> spec = filter != null ? filter : Specification.unrestricted();
+        CountMode effectiveCountMode = filter != null && countMode != CountMode.EXACT ? CountMode.NONE : countMode;
+        return timer.record(() -> effectiveCountMode == CountMode.EXACT
+                ? findPageWithExactCount(page, size, spec, sort)
+                : findPageWithoutExactCount(page, size, effectiveCountMode, spec, sort));
+    }
+
+    private PagingDto<D> findPageWithExactCount(int page, int size, Specification<E> spec, Sort sort) {
+        Pageable pageable = PageRequest.of(page - 1, size, sort);
+        Page<D> dtos = fetchPage(spec, pageable);
+
+        logger.debug("Fetched {} entities with paging", dtos.getTotalElements());
+        return new PagingDto<>(dtos.getContent(), (int) dtos.getTotalElements(), page, size);
+    }
+
+    private PagingDto<D> findPageWithoutExactCount(int page, int size, CountMode countMode, Specification<E> spec, Sort sort) {
+        Pageable pageable = PageRequest.of(page - 1, size, sort);
+        // No count query is issued, whether a next page exists is known from the slice
+        Slice<D> dtos = fetchSlice(spec, pageable);
+        List<D> dtoList = dtos.getContent();
+
+        Integer totalCount = switch (countMode) {
+            case ESTIMATED -> toTotalCount(estimateCount());
+            case CACHED -> toTotalCount(OptionalLong.of(getCachedCount()));
+            default -> null;
+        };
+
+        logger.debug("Fetched {} entities with paging", dtoList.size());
+        return new PagingDto<>(dtoList, totalCount, page, size, dtos.hasNext(), countMode);
+    }
+
+    private long getCachedCount() {
+        CachedCount current = cachedCount.get();
+        long now = System.nanoTime();
+        if (current != null && now - current.expiresAt() < 0) {
+            return current.value();
+        }
+        Timer.Sample sample = Timer.start();
+        long count = repository.count();
+        sample.stop(Metrics.timer("shop.paging.count", "service", getClass().getSimpleName()));
+        cachedCount.set(new CachedCount(count, now + countCacheTtl.toNanos()));
+        return count;
+    }
+
+    private Integer toTotalCount(OptionalLong count) {
+        return count.isPresent() ? (int) count.getAsLong() : null;
+    }
+
+    /**
+     * A total count together with the System.nanoTime() value at which it expires.
+     */
+    private record CachedCount(long value, long expiresAt) {
     }
 }
@@ -1,49 +1,238 @@
 package com.springapi.shopsample.service.impl;
 
+import com.springapi.shopsample.config.CacheConfig;
+import com.springapi.shopsample.dto.BatchResultDto;
+import com.springapi.shopsample.dto.BulkDeleteResultDto;
+import com.springapi.shopsample.dto.CountMode;
+import com.springapi.shopsample.dto.PagingDto;
 import com.springapi.shopsample.dto.product.ProductDescriptionUpdateRequestDto;
 import com.springapi.shopsample.dto.product.ProductDto;
+import com.springapi.shopsample.dto.product.ProductFilterDto;
+import com.springapi.shopsample.dto.product.ProductSortField;
 import com.springapi.shopsample.entity.product.ProductEntity;
 import com.springapi.shopsample.mapper.ProductMapper;
 import com.springapi.shopsample.repository.ProductRepository;
+import com.springapi.shopsample.repository.projection.ProductView;
+import com.springapi.shopsample.service.ProductCatalogVersion;
 import com.springapi.shopsample.service.ProductService;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.stream.Stream;
 
 /**
  * ProductServiceImpl is a service class that provides CRUD operations for ProductEntity.
  * It extends the BaseServiceImpl class and implements the IProductService interface.
  * This class is annotated with @Service to indicate that it is a Spring service component.
+ * Products read by ID are cached and loaded from the primary on a cache miss; every write path evicts
+ * the cached entry of the product it changes and records a change of the ProductCatalogVersion.
+ * Reads select only the columns of ProductView instead of loading managed entities.
  */
 @Service
 public class ProductServiceImpl extends BaseServiceImpl<ProductEntity, ProductDto, Long> implements ProductService {
 
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
+    private final ProductCatalogVersion catalogVersion;
 
     /**
      * Constructs a new ProductServiceImpl with the given IProductRepository and IProductMapper.
      *
      * @param productRepository the IProductRepository to use for CRUD operations
      * @param productMapper     the IProductMapper to use for entity-DTO mapping
+     * @param catalogVersion    the version of the catalog, changed by every write
      */
-    public ProductServiceImpl(ProductRepository productRepository, ProductMapper productMapper) {
+    public ProductServiceImpl(ProductRepository productRepository, ProductMapper productMapper,
+                              ProductCatalogVersion catalogVersion) {
         super(productRepository, productMapper);
         this.productRepository = productRepository;
         this.productMapper = productMapper;
+        this.catalogVersion = catalogVersion;
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id", unless = "#result == null")
+    // Not read-only, so cache misses are filled from the primary: a replica may still return the row
+    // a write just replaced, which would then be cached for the whole TTL
+    @Transactional
+    public Optional<ProductDto> getById(Long id) {
+        return super.getById(id);
+    }
+
+    @Override
+    public Optional<ProductDto> create(ProductDto dto) {
+        catalogVersion.changed();
+        return super.create(dto);
+    }
+
+    @Override
+    public BatchResultDto<ProductDto> createAll(List<ProductDto> dtos) {
+        // Chunks commit on their own, so the change is recorded even if a later chunk fails
+        try {
+            return super.createAll(dtos);
+        } finally {
+            catalogVersion.changed();
+        }
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#dto.id", condition = "#dto != null && #dto.id != null")
+    public Optional<ProductDto> update(ProductDto dto) {
+        catalogVersion.changed();
+        return super.update(dto);
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, allEntries = true)
+    public BatchResultDto<ProductDto> updateAll(List<ProductDto> dtos) {
+        try {
+            return super.updateAll(dtos);
+        } finally {
+            catalogVersion.changed();
+        }
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id")
+    public void delete(Long id) {
+        catalogVersion.changed();
+        super.delete(id);
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, allEntries = true)
+    public BulkDeleteResultDto deleteAll(Collection<Long> ids) {
+        try {
+            return super.deleteAll(ids);
+        } finally {
+            catalogVersion.changed();
+        }
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id")
+    @Transactional
     public Optional<ProductDto> updateDescription(Long id, ProductDescriptionUpdateRequestDto dto) {
-        ProductEntity productEntity = productRepository.findById(id).orElse(null);
-        if (productEntity == null) {
+        catalogVersion.changed();
+        // A single UPDATE ... RETURNING statement, the updated row is mapped straight from its projection
+        Optional<ProductDto> result = productRepository.updateDescription(id, dto.getDescription(), LocalDateTime.now())
+                .map(productMapper::toDto);
+        if (result.isEmpty()) {
             logger.warn("Product with ID {} not found", id);
-            return Optional.empty();
         } else {
-            productEntity.setDescription(dto.getDescription());
-            ProductEntity updatedProduct = productRepository.save(productEntity);
             logger.info("Updated description for product with ID {}", id);
-            return Optional.of(productMapper.toDto(updatedProduct));
         }
+        return result;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PagingDto<ProductDto> findAllWithPaging(int page, int size, CountMode countMode,
+                                                   ProductFilterDto filter, ProductSortField sortBy, Sort.Direction direction) {
+        // The ID tie-breaker follows the sort direction, so the (column, id) index can be scanned in either direction
+        Sort sort = sortBy == ProductSortField.ID
+                ? Sort.by(direction, ID_ATTRIBUTE)
+                : Sort.by(direction, sortBy.getAttribute(), ID_ATTRIBUTE);
+        return findAllWithPaging(page, size, countMode, toSpecification(filter), sort);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PagingDto<ProductDto> search(String query, int page, int size) {
+        logger.debug("Searching products - query: {}, page: {}, size: {}", query, page, size);
+        Page<ProductView> views = productRepository.search(query, PageRequest.of(page - 1, size));
+        List<ProductDto> dtoList = toDtos(views.getContent());
+
+        logger.debug("Found {} products matching the query", views.getTotalElements());
+        return new PagingDto<>(dtoList, (int) views.getTotalElements(), page, size);
+    }
+
+    @Override
+    protected Optional<ProductDto> fetchById(Long id) {
+        return productRepository.findViewById(id).map(productMapper::toDto);
+    }
+
+    @Override
+    protected List<ProductDto> fetchAll() {
+        return toDtos(productRepository.findViewsByOrderByIdAsc());
+    }
+
+    @Override
+    protected Page<ProductDto> fetchPage(Specification<ProductEntity> spec, Pageable pageable) {
+        return productRepository.findBy(spec, query -> query.as(ProductView.class).page(pageable))
+                .map(productMapper::toDto);
+    }
+
+    @Override
+    protected Slice<ProductDto> fetchSlice(Specification<ProductEntity> spec, Pageable pageable) {
+        return productRepository.findBy(spec, query -> query.as(ProductView.class).slice(pageable))
+                .map(productMapper::toDto);
+    }
+
+    @Override
+    protected List<ProductDto> fetchAfter(Long after, int limit) {
+        List<ProductView> views = after == null
+                ? productRepository.findViewsByOrderByIdAsc(Limit.of(limit))
+                : productRepository.findViewsByIdGreaterThanOrderByIdAsc(after, Limit.of(limit));
+        return toDtos(views);
+    }
+
+    @Override
+    protected Stream<ProductDto> fetchStream() {
+        // Projections are not managed, so nothing accumulates in the persistence context while streaming
+        return productRepository.streamViewsByOrderByIdAsc().map(productMapper::toDto);
+    }
+
+    @Override
+    protected OptionalLong estimateCount() {
+        long estimate = productRepository.estimateCount();
+        return estimate < 0 ? OptionalLong.empty() : OptionalLong.of(estimate);
+    }
+
+    /**
+     * Builds the specification of the products matching a filter.
+     *
+     * @param filter the filter, may be null
+     * @return the specification, or null if the filter does not restrict the products
+     */
+    private static Specification<ProductEntity> toSpecification(ProductFilterDto filter) {
+        if (filter == null || filter.isEmpty()) {
+            return null;
+        }
+        return (root, query, builder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.getMinPrice() != null) {
+                predicates.add(builder.greaterThanOrEqualTo(root.get("price"), filter.getMinPrice()));
+            }
+            if (filter.getMaxPrice() != null) {
+                predicates.add(builder.lessThanOrEqualTo(root.get("price"), filter.getMaxPrice()));
+            }
+            if (filter.getCreatedAfter() != null) {
+                predicates.add(builder.greaterThan(root.get("createdOn"), filter.getCreatedAfter()));
+            }
+            return builder.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    private List<ProductDto> toDtos(List<ProductView> views) {
+        return views.stream()
+                .map(productMapper::toDto)
+                .toList();
     }
 }
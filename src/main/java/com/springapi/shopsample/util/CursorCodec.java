@@ -0,0 +1,46 @@
+package com.springapi.shopsample.util;
+
+import com.springapi.shopsample.exception.ResourceConflictException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * CursorCodec is a utility class for encoding and decoding opaque keyset paging cursors.
+ * A cursor is the URL-safe Base64 form of the last seen key, so clients treat it as an opaque token.
+ */
+public class CursorCodec {
+
+    /**
+     * Encodes the given key into an opaque cursor.
+     *
+     * @param key the key of the last item in the page
+     * @return the opaque cursor, or null if the key is null
+     */
+    public static String encode(Object key) {
+        if (key == null) {
+            return null;
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(key).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes an opaque cursor into a Long key.
+     *
+     * @param cursor the opaque cursor, may be null or empty for the first page
+     * @return the decoded key, or null if the cursor is null or empty
+     * @throws ResourceConflictException if the cursor is not a valid cursor
+     */
+    public static Long decodeLong(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            return Long.valueOf(key);
+        } catch (IllegalArgumentException e) {
+            throw new ResourceConflictException("Invalid paging cursor");
+        }
+    }
+}
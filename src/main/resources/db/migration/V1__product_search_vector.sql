@@ -0,0 +1,11 @@
+-- Full-text search over the product name (weight A) and description (weight B), kept up to date by PostgreSQL.
+-- Adding the stored generated column rewrites the whole product table under an exclusive lock:
+-- run this once, in a maintenance window on large catalogs.
+ALTER TABLE product ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+    ) STORED;
+
+-- CONCURRENTLY builds the index without blocking writes; it cannot run inside a transaction block
+CREATE INDEX CONCURRENTLY IF NOT EXISTS product_search_vector_idx ON product USING gin (search_vector);
@@ -0,0 +1,5 @@
+-- Indexes of the sorted and filtered product listing, also declared on ProductEntity.
+-- CONCURRENTLY builds them without blocking writes; it cannot run inside a transaction block.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS product_price_id_idx ON product (price, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS product_name_id_idx ON product (name, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS product_created_on_id_idx ON product (created_on, id);
@@ -0,0 +1,18 @@
+-- User roles are stored as a bitmask in app_user.roles (see Role and RoleSetConverter) instead of the former
+-- user_roles table. Moves the roles of every user to the column and drops the table, if it still exists.
+ALTER TABLE app_user ADD COLUMN IF NOT EXISTS roles integer NOT NULL DEFAULT 0;
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT FROM information_schema.tables
+               WHERE table_schema = current_schema() AND table_name = 'user_roles') THEN
+        UPDATE app_user SET roles = user_roles.bitmask
+        FROM (SELECT user_id,
+                     bit_or(CASE role WHEN 'ROLE_USER' THEN 1 WHEN 'ROLE_ADMIN' THEN 2 ELSE 0 END) AS bitmask
+              FROM user_roles
+              GROUP BY user_id) AS user_roles
+        WHERE app_user.id = user_roles.user_id;
+        DROP TABLE user_roles;
+    END IF;
+END
+$$;
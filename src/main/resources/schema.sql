@@ -0,0 +1,24 @@
+-- Development and test counterpart of the migrations in db/migration, for databases whose schema Hibernate
+-- creates or updates (ddl-auto=create-drop or update). Runs after Hibernate on each startup
+-- (spring.jpa.defer-datasource-initialization=true), so every statement must be idempotent.
+-- Production does not run it (spring.sql.init.mode=never): apply the db/migration scripts there instead, each once.
+
+-- Full-text search over the product name (weight A) and description (weight B), kept up to date by PostgreSQL.
+-- The column is not mapped on ProductEntity, so loading a product never reads it.
+ALTER TABLE product ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS product_search_vector_idx ON product USING gin (search_vector);
+
+-- Indexes of the sorted and filtered product listing, also declared on ProductEntity.
+CREATE INDEX IF NOT EXISTS product_price_id_idx ON product (price, id);
+CREATE INDEX IF NOT EXISTS product_name_id_idx ON product (name, id);
+CREATE INDEX IF NOT EXISTS product_created_on_id_idx ON product (created_on, id);
+
+-- User roles are stored as a bitmask in app_user.roles (see Role and RoleSetConverter). The column is added here
+-- with a default, which Hibernate cannot do for existing rows; moving the roles of a database that still has
+-- the former user_roles table is a one-time migration, db/migration/V3__user_roles_bitmask.sql.
+ALTER TABLE app_user ADD COLUMN IF NOT EXISTS roles integer NOT NULL DEFAULT 0;
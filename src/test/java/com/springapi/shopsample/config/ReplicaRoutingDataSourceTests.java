@@ -0,0 +1,222 @@
+package com.springapi.shopsample.config;
+
+import com.springapi.shopsample.dto.product.ProductDto;
+import com.springapi.shopsample.service.ProductService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Metrics;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ReplicaRoutingDataSourceTests is a test class for the routing of read-only transactions to read replicas.
+ * It starts two independent embedded PostgreSQL instances, one as the primary and one as the replica,
+ * so it can tell from the returned rows which instance served a read.
+ * The replica reports its lag from a table, so the test can make it lag behind.
+ */
+@SpringBootTest(properties = {
+        "app.datasource.replicas.lag-check-interval=1h",
+        "app.datasource.replicas.lag-query=SELECT seconds FROM replication_lag"
+})
+@ActiveProfiles("test")
+@AutoConfigureEmbeddedDatabase(
+        replace = AutoConfigureEmbeddedDatabase.Replace.NONE
+)
+@DirtiesContext
+class ReplicaRoutingDataSourceTests {
+
+    private static final EmbeddedPostgres PRIMARY = startPostgres();
+    private static final EmbeddedPostgres REPLICA = startReplica();
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ReplicaRoutingDataSource dataSource;
+
+    @DynamicPropertySource
+    static void dataSourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> PRIMARY.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("app.datasource.replicas.urls", () -> REPLICA.getJdbcUrl("postgres", "postgres"));
+    }
+
+    /**
+     * Sets up the test environment before each test.
+     * Checks the lag of the replica, so the test does not depend on the first check running in the background.
+     */
+    @BeforeEach
+    void setUp() {
+        dataSource.refreshReplicaLag();
+    }
+
+    @AfterEach
+    void tearDown() {
+        setReplicaLag(0);
+        dataSource.refreshReplicaLag();
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        REPLICA.close();
+        PRIMARY.close();
+    }
+
+    /**
+     * Tests reads and writes with a replica in sync.
+     * Verifies that the write is stored on the primary and the read-only read is served by the replica.
+     */
+    @Test
+    void readOnlyTransactions_readFromReplica() {
+        productService.create(product("Primary Product"));
+
+        assertTrue(primaryProductNames().contains("Primary Product"));
+        assertEquals(List.of("Replica Product"), productService.findAll().stream().map(ProductDto::getName).toList());
+        assertEquals(1, Metrics.globalRegistry.get("datasource.replica.available").tag("pool", "replica-1").gauge().value());
+        assertNotNull(Metrics.globalRegistry.find("hikaricp.connections").tag("pool", "replica-1").gauge());
+        assertNotNull(Metrics.globalRegistry.find("hikaricp.connections").tag("pool", "primary").gauge());
+    }
+
+    /**
+     * Tests reads while the replica lags behind by more than the maximum lag.
+     * Verifies that they fall back to the primary and return to the replica once it caught up.
+     */
+    @Test
+    void laggingReplica_fallsBackToPrimary() {
+        productService.create(product("Fallback Product"));
+        double fallbacks = Metrics.globalRegistry.get("datasource.replica.fallbacks").counter().count();
+        setReplicaLag(60);
+        dataSource.refreshReplicaLag();
+
+        List<String> names = productService.findAll().stream().map(ProductDto::getName).toList();
+
+        assertEquals(primaryProductNames(), names);
+        assertTrue(names.contains("Fallback Product"));
+        assertEquals(0, Metrics.globalRegistry.get("datasource.replica.available").tag("pool", "replica-1").gauge().value());
+        assertEquals(60, Metrics.globalRegistry.get("datasource.replica.lag").tag("pool", "replica-1").gauge().value());
+        assertEquals(fallbacks + 1, Metrics.globalRegistry.get("datasource.replica.fallbacks").counter().count());
+
+        setReplicaLag(0);
+        dataSource.refreshReplicaLag();
+
+        assertEquals(List.of("Replica Product"), productService.findAll().stream().map(ProductDto::getName).toList());
+    }
+
+    /**
+     * Tests reading a product by ID after an update while the replica, within the maximum lag, still has the old row.
+     * Verifies that the cache is filled from the primary, so the stale row is neither returned nor cached.
+     */
+    @Test
+    void getById_afterUpdate_doesNotCacheStaleReplicaRow() {
+        ProductDto created = productService.create(product("Original Product")).orElseThrow();
+        JdbcTemplate replica = new JdbcTemplate(REPLICA.getPostgresDatabase());
+        replica.update("INSERT INTO product (id, created_on, name, price, image_url) "
+                + "VALUES (?, now(), 'Original Product', 10.00, 'https://www.example.com/image.jpg')", created.getId());
+        try {
+            created.setName("Updated Product");
+            productService.update(created);
+
+            assertEquals("Updated Product", productService.getById(created.getId()).orElseThrow().getName());
+            assertEquals("Updated Product", productService.getById(created.getId()).orElseThrow().getName());
+            assertEquals(1, Metrics.globalRegistry.get("datasource.replica.available").tag("pool", "replica-1").gauge().value());
+        } finally {
+            replica.update("DELETE FROM product WHERE id = ?", created.getId());
+        }
+    }
+
+    /**
+     * Tests creating a data source with a replica that cannot be reached.
+     * Verifies that the construction does not wait for the replica, which stays unavailable,
+     * and that read-only connections are served by the primary.
+     */
+    @Test
+    void unreachableReplica_doesNotDelayConstruction() throws Exception {
+        HikariDataSource primary = new HikariDataSource();
+        primary.setJdbcUrl(PRIMARY.getJdbcUrl("postgres", "postgres"));
+        primary.setPoolName("unreachable-test-primary");
+        HikariDataSource replica = new HikariDataSource();
+        replica.setJdbcUrl("jdbc:postgresql://127.0.0.1:1/postgres");
+        replica.setPoolName("unreachable-test-replica");
+        replica.setConnectionTimeout(Duration.ofSeconds(10).toMillis());
+
+        long start = System.nanoTime();
+        try (ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(replica),
+                Duration.ofSeconds(5), Duration.ofHours(1), ReplicaRoutingDataSource.DEFAULT_LAG_QUERY)) {
+            assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(2)) < 0);
+            assertEquals(0, Metrics.globalRegistry.get("datasource.replica.available")
+                    .tag("pool", "unreachable-test-replica").gauge().value());
+
+            double fallbacks = Metrics.globalRegistry.get("datasource.replica.fallbacks").counter().count();
+            try (Connection connection = routing.getConnection()) {
+                connection.setReadOnly(true);
+                try (Statement statement = connection.createStatement()) {
+                    assertTrue(statement.execute("SELECT 1"));
+                }
+            }
+            assertEquals(fallbacks + 1, Metrics.globalRegistry.get("datasource.replica.fallbacks").counter().count());
+            try (Connection connection = routing.getConnection("user", "password")) {
+                connection.setReadOnly(true);
+                assertThrows(SQLFeatureNotSupportedException.class, connection::createStatement);
+            }
+        }
+    }
+
+    private static ProductDto product(String name) {
+        ProductDto dto = new ProductDto();
+        dto.setName(name);
+        dto.setPrice(new BigDecimal("10.00"));
+        dto.setImageUrl("https://www.example.com/image.jpg");
+        return dto;
+    }
+
+    private static List<String> primaryProductNames() {
+        return new JdbcTemplate(PRIMARY.getPostgresDatabase()).queryForList("SELECT name FROM product ORDER BY id", String.class);
+    }
+
+    private static void setReplicaLag(int seconds) {
+        new JdbcTemplate(REPLICA.getPostgresDatabase()).update("UPDATE replication_lag SET seconds = ?", seconds);
+    }
+
+    private static EmbeddedPostgres startPostgres() {
+        try {
+            return EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static EmbeddedPostgres startReplica() {
+        EmbeddedPostgres replica = startPostgres();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(replica.getPostgresDatabase());
+        jdbcTemplate.execute("""
+                CREATE TABLE product (id bigint PRIMARY KEY, created_on timestamp, updated_on timestamp,
+                                      name varchar(255), description varchar(255), price numeric(38, 2), image_url varchar(255))
+                """);
+        jdbcTemplate.execute("INSERT INTO product (id, created_on, name, price, image_url) "
+                + "VALUES (1, now(), 'Replica Product', 5.00, 'https://www.example.com/replica.jpg')");
+        jdbcTemplate.execute("CREATE TABLE replication_lag (seconds numeric)");
+        jdbcTemplate.execute("INSERT INTO replication_lag VALUES (0)");
+        return replica;
+    }
+}
@@ -0,0 +1,121 @@
+package com.springapi.shopsample.controller;
+
+import io.micrometer.core.instrument.Metrics;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AuthRateLimitTests is a test class for the rate limit of the authentication endpoints.
+ * It starts the application on a random port against the embedded database with small rate limits,
+ * and takes the client address from X-Forwarded-For, so each test logs in from its own address.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.jpa.show-sql=false",
+                "server.forward-headers-strategy=native",
+                "app.security.rate-limit.client.capacity=3",
+                "app.security.rate-limit.client.refill-period=1h",
+                "app.security.rate-limit.username.capacity=2",
+                "app.security.rate-limit.username.refill-period=1h"
+        }
+)
+@ActiveProfiles("test")
+@AutoConfigureEmbeddedDatabase(
+        replace = AutoConfigureEmbeddedDatabase.Replace.ANY
+)
+class AuthRateLimitTests {
+
+    private static final JsonMapper JSON_MAPPER = JsonMapper.builder().build();
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    /**
+     * Tests logging in with different usernames from one client address beyond its capacity.
+     * Verifies that the attempt beyond the capacity is rejected with 429, Retry-After and the API error body,
+     * without hashing a password.
+     */
+    @Test
+    void login_rejectedWhenClientExceedsLimit() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(401, login("10.0.0.1", "client-user-" + i).statusCode());
+        }
+        double hashes = hashCount();
+
+        HttpResponse<String> rejected = login("10.0.0.1", "client-user-3");
+
+        assertEquals(429, rejected.statusCode());
+        long retryAfter = Long.parseLong(rejected.headers().firstValue("Retry-After").orElseThrow());
+        assertTrue(retryAfter > 0 && retryAfter <= 1200, "Retry-After: " + retryAfter);
+        JsonNode body = JSON_MAPPER.readTree(rejected.body());
+        assertEquals("TOO_MANY_REQUESTS", body.get("status").asString());
+        assertEquals("Too many authentication attempts, please retry later", body.get("message").asString());
+        assertEquals(hashes, hashCount());
+        assertEquals(401, login("10.0.0.2", "client-user-3").statusCode());
+    }
+
+    /**
+     * Tests logging in with one username from different client addresses beyond the username's capacity.
+     * Verifies that the attempt beyond the capacity is rejected with 429, also when the username differs in case.
+     */
+    @Test
+    void login_rejectedWhenUsernameExceedsLimit() throws Exception {
+        assertEquals(401, login("10.0.1.1", "target-user").statusCode());
+        assertEquals(401, login("10.0.1.2", "target-user").statusCode());
+
+        assertEquals(429, login("10.0.1.3", "target-user").statusCode());
+        assertEquals(429, login("10.0.1.4", "Target-User").statusCode());
+        assertEquals(401, login("10.0.1.5", "other-user").statusCode());
+    }
+
+    /**
+     * Tests registering from one client address beyond its capacity.
+     * Verifies that registrations share the limit and the attempt beyond the capacity is rejected with 429.
+     */
+    @Test
+    void register_rejectedWhenClientExceedsLimit() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(201, register("10.0.2.1", "registered-user-" + i).statusCode());
+        }
+
+        assertEquals(429, register("10.0.2.1", "registered-user-3").statusCode());
+    }
+
+    private HttpResponse<String> login(String clientAddress, String username) throws Exception {
+        return post(clientAddress, "/api/auth/login",
+                "{\"username\":\"" + username + "\",\"password\":\"password123\"}");
+    }
+
+    private HttpResponse<String> register(String clientAddress, String username) throws Exception {
+        return post(clientAddress, "/api/auth/register",
+                "{\"username\":\"" + username + "\",\"email\":\"" + username + "@example.com\",\"password\":\"password123\"}");
+    }
+
+    private HttpResponse<String> post(String clientAddress, String path, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .header("X-Forwarded-For", clientAddress)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static double hashCount() {
+        return Metrics.globalRegistry.get("auth.password.hashing.time").tag("operation", "matches").timer().count();
+    }
+}
@@ -0,0 +1,152 @@
+package com.springapi.shopsample.controller;
+
+import com.springapi.shopsample.entity.product.ProductEntity;
+import com.springapi.shopsample.entity.user.Role;
+import com.springapi.shopsample.entity.user.UserEntity;
+import com.springapi.shopsample.repository.ProductRepository;
+import com.springapi.shopsample.repository.UserRepository;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LoginStormIsolationTests is a test class for the isolation of product reads from a burst of logins.
+ * It starts the application on a random port against the embedded database with a single password hashing thread
+ * and a hashing queue shorter than the number of clients logging in, and reads a product while they log in.
+ * The rate limit of logins is disabled, so the logins reach the hashing queue.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.jpa.show-sql=false",
+                "app.security.password-hashing.threads=1",
+                "app.security.password-hashing.queue-capacity=8",
+                "app.security.rate-limit.enabled=false"
+        }
+)
+@ActiveProfiles("test")
+@AutoConfigureEmbeddedDatabase(
+        replace = AutoConfigureEmbeddedDatabase.Replace.ANY
+)
+class LoginStormIsolationTests {
+
+    private static final int LOGIN_CLIENTS = 16;
+    private static final Duration STORM_DURATION = Duration.ofSeconds(3);
+    private static final Duration MAX_MEDIAN_READ_LATENCY = Duration.ofMillis(100);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    /**
+     * Tests product reads during a storm of logins, each client logging in again as soon as it is answered
+     * and waiting for the Retry-After time when it is rejected.
+     * Verifies that the logins beyond the hashing queue are rejected with 503 and Retry-After,
+     * the others succeed, and the product reads keep a median latency below the maximum.
+     */
+    @Test
+    void loginStorm_productReadsStayFast() throws Exception {
+        Long id = saveProduct();
+        saveUser();
+
+        List<Duration> readLatencies = new ArrayList<>();
+        try (HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // One read and one login first, so the storm does not meet a cold application
+            assertEquals(200, client.send(productRequest(id), HttpResponse.BodyHandlers.ofString()).statusCode());
+            assertEquals(200, client.send(loginRequest(), HttpResponse.BodyHandlers.ofString()).statusCode());
+
+            long stormEnd = System.nanoTime() + STORM_DURATION.toNanos();
+            List<Future<List<Integer>>> loginClients = IntStream.range(0, LOGIN_CLIENTS)
+                    .mapToObj(i -> executor.submit(() -> logInUntil(client, stormEnd)))
+                    .toList();
+            while (System.nanoTime() < stormEnd) {
+                long start = System.nanoTime();
+                HttpResponse<String> read = client.send(productRequest(id), HttpResponse.BodyHandlers.ofString());
+                readLatencies.add(Duration.ofNanos(System.nanoTime() - start));
+                assertEquals(200, read.statusCode());
+            }
+
+            List<Integer> loginStatuses = new ArrayList<>();
+            for (Future<List<Integer>> loginClient : loginClients) {
+                loginStatuses.addAll(loginClient.get());
+            }
+            assertTrue(loginStatuses.stream().allMatch(status -> status == 200 || status == 503), "Unexpected statuses: " + loginStatuses);
+            assertTrue(loginStatuses.contains(200));
+            assertTrue(loginStatuses.contains(503));
+        }
+
+        Duration medianRead = readLatencies.stream().sorted().toList().get(readLatencies.size() / 2);
+        assertTrue(medianRead.compareTo(MAX_MEDIAN_READ_LATENCY) < 0, "Median product read: " + medianRead);
+    }
+
+    private List<Integer> logInUntil(HttpClient client, long end) throws Exception {
+        List<Integer> statuses = new ArrayList<>();
+        while (System.nanoTime() < end) {
+            HttpResponse<String> response = client.send(loginRequest(), HttpResponse.BodyHandlers.ofString());
+            statuses.add(response.statusCode());
+            if (response.statusCode() == 503) {
+                long retryAfter = Long.parseLong(response.headers().firstValue("Retry-After").orElseThrow());
+                Thread.sleep(Duration.ofSeconds(retryAfter));
+            }
+        }
+        return statuses;
+    }
+
+    private HttpRequest loginRequest() {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"storm-user\",\"password\":\"password123\"}"))
+                .build();
+    }
+
+    private HttpRequest productRequest(Long id) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/products/" + id)).build();
+    }
+
+    private Long saveProduct() {
+        ProductEntity entity = new ProductEntity();
+        entity.setName("Storm Product");
+        entity.setPrice(new BigDecimal("10.00"));
+        entity.setImageUrl("https://www.example.com/image.jpg");
+        return productRepository.save(entity).getId();
+    }
+
+    private void saveUser() {
+        UserEntity user = new UserEntity();
+        user.setUsername("storm-user");
+        user.setEmail("storm-user@example.com");
+        user.setPassword(passwordEncoder.encode("password123"));
+        user.setRoles(new HashSet<>(Set.of(Role.ROLE_USER)));
+        userRepository.save(user);
+    }
+}
@@ -1,26 +1,61 @@
 package com.springapi.shopsample.controller;
 
+import com.springapi.shopsample.dto.BatchItemResultDto;
+import com.springapi.shopsample.dto.BatchResultDto;
+import com.springapi.shopsample.dto.BulkDeleteResultDto;
+import com.springapi.shopsample.dto.CountMode;
+import com.springapi.shopsample.dto.CursorPagingDto;
 import com.springapi.shopsample.dto.PagingDto;
 import com.springapi.shopsample.dto.product.ProductDescriptionUpdateRequestDto;
 import com.springapi.shopsample.dto.product.ProductDto;
+import com.springapi.shopsample.dto.product.ProductFilterDto;
+import com.springapi.shopsample.dto.product.ProductSortField;
 import com.springapi.shopsample.exception.ResourceConflictException;
 import com.springapi.shopsample.exception.ResourceNotFoundException;
+import com.springapi.shopsample.security.AppUserDetailsService;
+import com.springapi.shopsample.security.JwtAuthenticationFilter;
+import com.springapi.shopsample.security.JwtTokenProvider;
+import com.springapi.shopsample.service.ProductCatalogSnapshot;
+import com.springapi.shopsample.service.ProductCatalogVersion;
 import com.springapi.shopsample.service.ProductService;
+import com.springapi.shopsample.util.CursorCodec;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 
 /**
  * Unit tests for the ProductController class.
@@ -31,9 +66,27 @@ class ProductControllerTests {
     @Mock
     private ProductService productService;
 
+    @Mock
+    private ProductCatalogVersion catalogVersion;
+
+    @Mock
+    private ProductCatalogSnapshot catalogSnapshot;
+
+    @Mock
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Mock
+    private AppUserDetailsService userDetailsService;
+
     @InjectMocks
     private ProductController productController;
 
+    private MockHttpServletRequest servletRequest;
+
+    private MockHttpServletResponse servletResponse;
+
+    private ServletWebRequest request;
+
     /**
      * Sets up the test environment before each test.
      * Initialize mocks and injects them into the productController.
@@ -41,6 +94,18 @@ class ProductControllerTests {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        servletRequest = new MockHttpServletRequest("GET", "/api/products");
+        servletResponse = new MockHttpServletResponse();
+        request = new ServletWebRequest(servletRequest, servletResponse);
+    }
+
+    /**
+     * Cleans up the test environment after each test.
+     * Clears the security context set through the JWT filter.
+     */
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
     }
 
     /**
@@ -53,12 +118,58 @@ class ProductControllerTests {
         productDto.setId(1L);
         when(productService.getById(1L)).thenReturn(Optional.of(productDto));
 
-        ResponseEntity<ProductDto> response = productController.getProduct(1L);
+        ResponseEntity<ProductDto> response = productController.getProduct(1L, request);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(productDto, response.getBody());
     }
 
+    /**
+     * Tests the retrieval of a product by its ID through the JWT filter with a bearer token.
+     * Verifies that the product is returned without verifying the token or loading its user.
+     */
+    @Test
+    void getProductByIdWithTokenSkipsAuthentication() throws Exception {
+        ProductDto productDto = new ProductDto();
+        productDto.setId(1L);
+        when(productService.getById(1L)).thenReturn(Optional.of(productDto));
+        servletRequest.addHeader(HttpHeaders.AUTHORIZATION, "Bearer token");
+
+        List<ResponseEntity<ProductDto>> responses = new ArrayList<>();
+        new JwtAuthenticationFilter(jwtTokenProvider, userDetailsService).doFilter(servletRequest, new MockHttpServletResponse(),
+                (filteredRequest, filteredResponse) -> responses.add(productController.getProduct(1L, request)));
+
+        assertEquals(HttpStatus.OK, responses.getFirst().getStatusCode());
+        assertEquals(productDto, responses.getFirst().getBody());
+        verifyNoInteractions(jwtTokenProvider, userDetailsService);
+    }
+
+    /**
+     * Tests the retrieval of a product by its ID through the JWT filter by a handler reading the principal.
+     * Verifies that the token is verified and its user loaded once, when the principal is first read.
+     */
+    @Test
+    void getProductByIdWithTokenAuthenticatesWhenPrincipalRead() throws Exception {
+        when(productService.getById(1L)).thenReturn(Optional.of(new ProductDto()));
+        when(jwtTokenProvider.parseToken("token")).thenReturn(Optional.of(Jwts.claims().subject("reader").build()));
+        when(userDetailsService.loadPrincipal("reader")).thenReturn(User.withUsername("reader").password("").roles("USER").build());
+        servletRequest.addHeader(HttpHeaders.AUTHORIZATION, "Bearer token");
+
+        List<Authentication> authentications = new ArrayList<>();
+        new JwtAuthenticationFilter(jwtTokenProvider, userDetailsService).doFilter(servletRequest, new MockHttpServletResponse(),
+                (filteredRequest, filteredResponse) -> {
+                    productController.getProduct(1L, request);
+                    verifyNoInteractions(jwtTokenProvider, userDetailsService);
+                    authentications.add(SecurityContextHolder.getContext().getAuthentication());
+                    authentications.add(SecurityContextHolder.getContext().getAuthentication());
+                });
+
+        assertEquals("reader", authentications.getFirst().getName());
+        assertSame(authentications.getFirst(), authentications.getLast());
+        verify(jwtTokenProvider).parseToken(anyString());
+        verify(userDetailsService).loadPrincipal(anyString());
+    }
+
     /**
      * Tests the retrieval of a product by its ID when the product is not found.
      * Verifies that a ResourceNotFoundException is thrown with the expected message.
@@ -67,25 +178,212 @@ class ProductControllerTests {
     void getProductByIdNotFound() {
         when(productService.getById(anyLong())).thenReturn(Optional.empty());
 
-        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> productController.getProduct(1L));
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> productController.getProduct(1L, request));
 
         assertEquals("The product with ID: 1 was not found", exception.getMessage());
     }
 
     /**
-     * Tests the successful retrieval of all products.
-     * Verifies that the response status is OK and the number of products matches the expected size.
+     * Tests the successful retrieval of all products while the catalog snapshot is not up to date.
+     * Verifies that the response status is OK and the products read for the request are encoded.
      */
     @Test
     void getAllProductsSuccessfully() {
+        ProductController controller = new ProductController(productService, catalogVersion, catalogSnapshot, JsonMapper.builder().build());
         ProductDto productDto1 = new ProductDto();
         ProductDto productDto2 = new ProductDto();
         when(productService.findAll()).thenReturn(List.of(productDto1, productDto2));
 
-        ResponseEntity<List<ProductDto>> response = productController.getAllProducts();
+        ResponseEntity<byte[]> response = controller.getAllProducts(request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals(2, JsonMapper.builder().build().readTree(response.getBody()).size());
+    }
+
+    /**
+     * Tests the retrieval of all products from an up-to-date catalog snapshot.
+     * Verifies that the encoded snapshot is returned as it is and no product is read.
+     */
+    @Test
+    void getAllProductsFromSnapshot() {
+        byte[] snapshot = "[{\"id\":1}]".getBytes(StandardCharsets.UTF_8);
+        when(catalogSnapshot.get(false)).thenReturn(Optional.of(snapshot));
+
+        ResponseEntity<byte[]> response = productController.getAllProducts(request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(snapshot, response.getBody());
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        verifyNoInteractions(productService);
+    }
+
+    /**
+     * Tests the retrieval of all products by a client accepting gzip.
+     * Verifies that the gzip-compressed copy of the snapshot is returned with its content encoding.
+     */
+    @Test
+    void getAllProductsGzipped() {
+        byte[] gzipped = {31, -117, 8};
+        when(catalogSnapshot.get(true)).thenReturn(Optional.of(gzipped));
+        servletRequest.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br");
+
+        ResponseEntity<byte[]> response = productController.getAllProducts(request);
+
+        assertSame(gzipped, response.getBody());
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(response.getHeaders().getVary().contains(HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    /**
+     * Tests the retrieval of all products by a client refusing gzip with a zero quality value.
+     * Verifies that the uncompressed snapshot is returned without a content encoding.
+     */
+    @Test
+    void getAllProductsGzipRefused() {
+        byte[] snapshot = "[{\"id\":1}]".getBytes(StandardCharsets.UTF_8);
+        when(catalogSnapshot.get(false)).thenReturn(Optional.of(snapshot));
+        servletRequest.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, br");
+
+        ResponseEntity<byte[]> response = productController.getAllProducts(request);
+
+        assertSame(snapshot, response.getBody());
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        verify(catalogSnapshot, never()).get(true);
+    }
+
+    /**
+     * Tests the parsing of Accept-Encoding headers.
+     * Verifies that only gzip codings or the wildcard with a quality value above 0 accept gzip.
+     */
+    @Test
+    void acceptsGzip_honoursTokensAndQualityValues() {
+        assertTrue(ProductController.acceptsGzip("gzip"));
+        assertTrue(ProductController.acceptsGzip("deflate, GZIP;q=0.5"));
+        assertTrue(ProductController.acceptsGzip("x-gzip"));
+        assertTrue(ProductController.acceptsGzip("br, *;q=0.1"));
+        assertFalse(ProductController.acceptsGzip(null));
+        assertFalse(ProductController.acceptsGzip("gzip;q=0"));
+        assertFalse(ProductController.acceptsGzip("gzip ; Q=0.000"));
+        assertFalse(ProductController.acceptsGzip("x-gzip-foo, br"));
+        assertFalse(ProductController.acceptsGzip("gzip;q=0, *"));
+        assertFalse(ProductController.acceptsGzip("identity"));
+    }
+
+    /**
+     * Tests the retrieval of all products when the catalog did not change since the client's copy.
+     * Verifies that the response status is NOT_MODIFIED and no product is read.
+     */
+    @Test
+    void getAllProductsNotModified() {
+        when(catalogVersion.getValidators()).thenReturn(new ProductCatalogVersion.Validators("\"v-1\"", 1_700_000_000_000L));
+        servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"v-1\"");
+
+        ResponseEntity<byte[]> response = productController.getAllProducts(request);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("\"v-1\"", request.getResponse().getHeader(HttpHeaders.ETAG));
+        verifyNoInteractions(productService);
+    }
+
+    /**
+     * Tests the conditional retrieval of a product when the catalog did not change since the client's copy.
+     * Verifies that the response status is NOT_MODIFIED once the product was found.
+     */
+    @Test
+    void getProductByIdNotModified() {
+        when(productService.getById(1L)).thenReturn(Optional.of(new ProductDto()));
+        when(catalogVersion.getValidators()).thenReturn(new ProductCatalogVersion.Validators("\"v-1\"", 1_700_000_000_000L));
+        servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"v-1\"");
+
+        ResponseEntity<ProductDto> response = productController.getProduct(1L, request);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+
+    /**
+     * Tests the conditional retrieval of a product that does not exist while the catalog did not change.
+     * Verifies that a ResourceNotFoundException is thrown instead of answering NOT_MODIFIED.
+     */
+    @Test
+    void getProductByIdNotModifiedButMissing() {
+        when(productService.getById(1L)).thenReturn(Optional.empty());
+        when(catalogVersion.getValidators()).thenReturn(new ProductCatalogVersion.Validators("\"v-1\"", 1_700_000_000_000L));
+        servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"v-1\"");
+
+        assertThrows(ResourceNotFoundException.class, () -> productController.getProduct(1L, request));
+        assertNotEquals(HttpStatus.NOT_MODIFIED.value(), servletResponse.getStatus());
+    }
+
+    /**
+     * Tests the retrieval of a product when the catalog changed since the client's copy.
+     * Verifies that the product is returned with the current validators and a no-cache directive.
+     */
+    @Test
+    void getProductByIdModified() {
+        ProductDto productDto = new ProductDto();
+        productDto.setId(1L);
+        when(productService.getById(1L)).thenReturn(Optional.of(productDto));
+        when(catalogVersion.getValidators()).thenReturn(new ProductCatalogVersion.Validators("\"v-2\"", 1_700_000_000_000L));
+        servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"v-1\"");
+
+        ResponseEntity<ProductDto> response = productController.getProduct(1L, request);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(2, Objects.requireNonNull(response.getBody()).size());
+        assertEquals(productDto, response.getBody());
+        assertEquals("\"v-2\"", request.getResponse().getHeader(HttpHeaders.ETAG));
+        assertNotNull(request.getResponse().getHeader(HttpHeaders.LAST_MODIFIED));
+        assertEquals("no-cache", request.getResponse().getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+
+    /**
+     * Tests the export of all products as newline-delimited JSON.
+     * Verifies that the export has its own timeout and every product is written on its own line, including a trailing newline.
+     */
+    @Test
+    void exportProductsAsNdjson() throws Exception {
+        ProductController controller = new ProductController(productService, catalogVersion, catalogSnapshot, JsonMapper.builder().build());
+        mockStreamAll(1L, 2L);
+
+        WebAsyncTask<Void> task = controller.exportProducts("ndjson", request, servletResponse);
+
+        assertEquals(Duration.ofMinutes(30).toMillis(), task.getTimeout());
+        assertEquals(MediaType.APPLICATION_NDJSON_VALUE, servletResponse.getContentType());
+        String[] lines = writeBody(task).split("\n", -1);
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].contains("\"id\":1"));
+        assertTrue(lines[1].contains("\"id\":2"));
+        assertEquals("", lines[2]);
+    }
+
+    /**
+     * Tests the export of all products as a JSON array.
+     * Verifies that the products are written as elements of a single array.
+     */
+    @Test
+    void exportProductsAsJsonArray() throws Exception {
+        ProductController controller = new ProductController(productService, catalogVersion, catalogSnapshot, JsonMapper.builder().build());
+        mockStreamAll(1L, 2L);
+
+        WebAsyncTask<Void> task = controller.exportProducts("json", request, servletResponse);
+
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, servletResponse.getContentType());
+        String body = writeBody(task);
+        assertTrue(body.startsWith("[{"));
+        assertTrue(body.endsWith("}]"));
+        assertEquals(2, JsonMapper.builder().build().readTree(body).size());
+    }
+
+    /**
+     * Tests the export of all products with an unsupported format.
+     * Verifies that a ResourceConflictException is thrown with the expected message.
+     */
+    @Test
+    void exportProductsInvalidFormat() {
+        ResourceConflictException exception = assertThrows(ResourceConflictException.class, () -> productController.exportProducts("xml", request, servletResponse));
+
+        assertEquals("Export format must be one of: ndjson, json", exception.getMessage());
     }
 
     /**
@@ -95,21 +393,91 @@ class ProductControllerTests {
     @Test
     void getAllProductsWithPagingSuccessfully() {
         PagingDto<ProductDto> pagingDto = new PagingDto<>(List.of(), 1, 1, 1);
-        when(productService.findAllWithPaging(1, 10)).thenReturn(pagingDto);
+        when(productService.findAllWithPaging(eq(1), eq(10), eq(CountMode.EXACT), any(ProductFilterDto.class), eq(ProductSortField.ID), eq(Sort.Direction.ASC))).thenReturn(pagingDto);
 
-        ResponseEntity<PagingDto<ProductDto>> response = productController.getAllProductsWithPaging(1, 10);
+        ResponseEntity<PagingDto<ProductDto>> response = productController.getAllProductsWithPaging(1, 10, CountMode.EXACT, null, null, null, ProductSortField.ID, Sort.Direction.ASC, request);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(pagingDto, response.getBody());
     }
 
+    /**
+     * Tests the retrieval of all products with pagination when the total count is omitted.
+     * Verifies that the count mode is passed to the service.
+     */
+    @Test
+    void getAllProductsWithPagingWithoutCount() {
+        PagingDto<ProductDto> pagingDto = new PagingDto<>(List.of(), null, 1, 10, false, CountMode.NONE);
+        when(productService.findAllWithPaging(eq(1), eq(10), eq(CountMode.NONE), any(ProductFilterDto.class), eq(ProductSortField.ID), eq(Sort.Direction.ASC))).thenReturn(pagingDto);
+
+        ResponseEntity<PagingDto<ProductDto>> response = productController.getAllProductsWithPaging(1, 10, CountMode.NONE, null, null, null, ProductSortField.ID, Sort.Direction.ASC, request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNull(Objects.requireNonNull(response.getBody()).getTotalCount());
+        verify(productService).findAllWithPaging(eq(1), eq(10), eq(CountMode.NONE), any(ProductFilterDto.class), eq(ProductSortField.ID), eq(Sort.Direction.ASC));
+    }
+
+    /**
+     * Tests the retrieval of filtered and sorted products with pagination.
+     * Verifies that the filter and the sort order are passed to the service.
+     */
+    @Test
+    void getAllProductsWithPagingFilteredAndSorted() {
+        PagingDto<ProductDto> pagingDto = new PagingDto<>(List.of(), null, 1, 10, false, CountMode.NONE);
+        ArgumentCaptor<ProductFilterDto> filter = ArgumentCaptor.forClass(ProductFilterDto.class);
+        when(productService.findAllWithPaging(eq(1), eq(10), eq(CountMode.EXACT), filter.capture(), eq(ProductSortField.PRICE), eq(Sort.Direction.DESC)))
+                .thenReturn(pagingDto);
+
+        ResponseEntity<PagingDto<ProductDto>> response = productController.getAllProductsWithPaging(1, 10, CountMode.EXACT,
+                new BigDecimal("10.00"), new BigDecimal("20.00"), null, ProductSortField.PRICE, Sort.Direction.DESC, request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(pagingDto, response.getBody());
+        assertEquals(new BigDecimal("10.00"), filter.getValue().getMinPrice());
+        assertEquals(new BigDecimal("20.00"), filter.getValue().getMaxPrice());
+        assertNull(filter.getValue().getCreatedAfter());
+    }
+
+    /**
+     * Tests the retrieval of products with pagination filtered by a column other than the sorted one.
+     * Verifies that a ResourceConflictException is thrown for every such combination and the service is not called.
+     */
+    @Test
+    void getAllProductsWithPagingFilterNotMatchingSort() {
+        LocalDateTime createdAfter = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+        ResourceConflictException priceByName = assertThrows(ResourceConflictException.class, () -> productController.getAllProductsWithPaging(1, 10, CountMode.EXACT,
+                new BigDecimal("10.00"), new BigDecimal("20.00"), null, ProductSortField.NAME, Sort.Direction.ASC, request));
+        ResourceConflictException createdByPrice = assertThrows(ResourceConflictException.class, () -> productController.getAllProductsWithPaging(1, 10, CountMode.EXACT,
+                null, null, createdAfter, ProductSortField.PRICE, Sort.Direction.ASC, request));
+        ResourceConflictException combined = assertThrows(ResourceConflictException.class, () -> productController.getAllProductsWithPaging(1, 10, CountMode.EXACT,
+                null, new BigDecimal("20.00"), createdAfter, ProductSortField.CREATED_ON, Sort.Direction.ASC, request));
+
+        assertEquals("Filtering by price requires sorting by PRICE", priceByName.getMessage());
+        assertEquals("Filtering by creation time requires sorting by CREATED_ON", createdByPrice.getMessage());
+        assertEquals("Price and creation time filters cannot be combined", combined.getMessage());
+        verifyNoInteractions(productService);
+    }
+
+    /**
+     * Tests the retrieval of products with pagination when the minimum price exceeds the maximum price.
+     * Verifies that a ResourceConflictException is thrown with the expected message.
+     */
+    @Test
+    void getAllProductsWithPagingInvalidPriceRange() {
+        ResourceConflictException exception = assertThrows(ResourceConflictException.class, () -> productController.getAllProductsWithPaging(1, 10, CountMode.EXACT,
+                new BigDecimal("20.00"), new BigDecimal("10.00"), null, ProductSortField.ID, Sort.Direction.ASC, request));
+
+        assertEquals("Minimum price must not be greater than maximum price", exception.getMessage());
+    }
+
     /**
      * Tests the retrieval of all products with pagination when the page number is invalid.
      * Verifies that a ResourceConflictException is thrown with the expected message.
      */
     @Test
     void getAllProductsWithPagingInvalidPageNumber() {
-        ResourceConflictException exception = assertThrows(ResourceConflictException.class, () -> productController.getAllProductsWithPaging(0, 10));
+        ResourceConflictException exception = assertThrows(ResourceConflictException.class, () -> productController.getAllProductsWithPaging(0, 10, CountMode.EXACT, null, null, null, ProductSortField.ID, Sort.Direction.ASC, request));
 
         assertEquals("Page number must be greater than 0", exception.getMessage());
     }
@@ -120,11 +488,127 @@ class ProductControllerTests {
      */
     @Test
     void getAllProductsWithPagingInvalidPageSize() {
-        ResourceConflictException exception = assertThrows(ResourceConflictException.class, () -> productController.getAllProductsWithPaging(1, 0));
+        ResourceConflictException exception = assertThrows(ResourceConflictException.class, () -> productController.getAllProductsWithPaging(1, 0, CountMode.EXACT, null, null, null, ProductSortField.ID, Sort.Direction.ASC, request));
 
         assertEquals("Page size must be greater than 0", exception.getMessage());
     }
 
+    /**
+     * Tests the retrieval of all products with pagination when the page size exceeds the maximum.
+     * Verifies that a ResourceConflictException is thrown and the service is not called.
+     */
+    @Test
+    void getAllProductsWithPagingTooLargePageSize() {
+        ResourceConflictException exception = assertThrows(ResourceConflictException.class, () -> productController.getAllProductsWithPaging(1, Integer.MAX_VALUE, CountMode.EXACT, null, null, null, ProductSortField.ID, Sort.Direction.ASC, request));
+
+        assertEquals("Page size must not be greater than 100", exception.getMessage());
+        verifyNoInteractions(productService);
+    }
+
+    /**
+     * Tests the successful search of products.
+     * Verifies that the response status is OK and the page of matching products is returned.
+     */
+    @Test
+    void searchProductsSuccessfully() {
+        PagingDto<ProductDto> pagingDto = new PagingDto<>(List.of(new ProductDto()), 1, 1, 10);
+        when(productService.search("laptop", 1, 10)).thenReturn(pagingDto);
+
+        ResponseEntity<PagingDto<ProductDto>> response = productController.searchProducts("laptop", 1, 10, request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(pagingDto, response.getBody());
+    }
+
+    /**
+     * Tests the search of products with a blank query.
+     * Verifies that a ResourceConflictException is thrown and the service is not called.
+     */
+    @Test
+    void searchProductsBlankQuery() {
+        ResourceConflictException exception = assertThrows(ResourceConflictException.class, () -> productController.searchProducts(" ", 1, 10, request));
+
+        assertEquals("Search query must not be blank", exception.getMessage());
+        verifyNoInteractions(productService);
+    }
+
+    /**
+     * Tests the search of products when the page size exceeds the maximum.
+     * Verifies that a ResourceConflictException is thrown and the service is not called.
+     */
+    @Test
+    void searchProductsTooLargePageSize() {
+        ResourceConflictException exception = assertThrows(ResourceConflictException.class, () -> productController.searchProducts("laptop", 1, 101, request));
+
+        assertEquals("Page size must not be greater than 100", exception.getMessage());
+        verifyNoInteractions(productService);
+    }
+
+    /**
+     * Tests the successful retrieval of the first page of products with keyset paging.
+     * Verifies that the response status is OK and the service is called without a cursor.
+     */
+    @Test
+    void getAllProductsWithCursorPagingFirstPage() {
+        CursorPagingDto<ProductDto> pagingDto = new CursorPagingDto<>(List.of(), 10, CursorCodec.encode(10L));
+        when(productService.findAllAfter(null, 10)).thenReturn(pagingDto);
+
+        ResponseEntity<CursorPagingDto<ProductDto>> response = productController.getAllProductsWithCursorPaging(null, 10, request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(pagingDto, response.getBody());
+    }
+
+    /**
+     * Tests the retrieval of the next page of products with keyset paging.
+     * Verifies that the cursor is decoded into the ID of the last product of the previous page.
+     */
+    @Test
+    void getAllProductsWithCursorPagingNextPage() {
+        CursorPagingDto<ProductDto> pagingDto = new CursorPagingDto<>(List.of(), 10, null);
+        when(productService.findAllAfter(10L, 10)).thenReturn(pagingDto);
+
+        ResponseEntity<CursorPagingDto<ProductDto>> response = productController.getAllProductsWithCursorPaging(CursorCodec.encode(10L), 10, request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertFalse(Objects.requireNonNull(response.getBody()).isHasNext());
+        verify(productService).findAllAfter(10L, 10);
+    }
+
+    /**
+     * Tests the retrieval of products with keyset paging when the cursor is invalid.
+     * Verifies that a ResourceConflictException is thrown with the expected message.
+     */
+    @Test
+    void getAllProductsWithCursorPagingInvalidCursor() {
+        ResourceConflictException exception = assertThrows(ResourceConflictException.class, () -> productController.getAllProductsWithCursorPaging("not-a-cursor", 10, request));
+
+        assertEquals("Invalid paging cursor", exception.getMessage());
+    }
+
+    /**
+     * Tests the retrieval of products with keyset paging when the page size is invalid.
+     * Verifies that a ResourceConflictException is thrown with the expected message.
+     */
+    @Test
+    void getAllProductsWithCursorPagingInvalidPageSize() {
+        ResourceConflictException exception = assertThrows(ResourceConflictException.class, () -> productController.getAllProductsWithCursorPaging(null, 0, request));
+
+        assertEquals("Page size must be greater than 0", exception.getMessage());
+    }
+
+    /**
+     * Tests the retrieval of products with keyset paging when the page size exceeds the maximum.
+     * Verifies that a ResourceConflictException is thrown instead of the extra row overflowing the size.
+     */
+    @Test
+    void getAllProductsWithCursorPagingTooLargePageSize() {
+        ResourceConflictException exception = assertThrows(ResourceConflictException.class, () -> productController.getAllProductsWithCursorPaging(null, Integer.MAX_VALUE, request));
+
+        assertEquals("Page size must not be greater than 100", exception.getMessage());
+        verifyNoInteractions(productService);
+    }
+
     /**
      * Tests the successful update of a product's description.
      * Verifies that the response status is OK and the updated product matches the expected product.
@@ -154,4 +638,96 @@ class ProductControllerTests {
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> productController.updateProductDescription(1L, updateRequestDto));
         assertEquals("The product with ID: 1 was not found", exception.getMessage());
     }
+
+    @SuppressWarnings("unchecked")
+    /**
+     * Tests the bulk creation of products.
+     * Verifies that the response status is OK and the batch result of the service is returned.
+     */
+    @Test
+    void createProductsSuccessfully() {
+        ProductDto productDto = new ProductDto();
+        BatchResultDto<ProductDto> result = new BatchResultDto<>(List.of(
+                BatchItemResultDto.succeeded(0, productDto),
+                BatchItemResultDto.failed(1, List.of("Product name is required"))));
+        when(productService.createAll(anyList())).thenReturn(result);
+
+        ResponseEntity<BatchResultDto<ProductDto>> response = productController.createProducts(List.of(productDto, new ProductDto()));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, Objects.requireNonNull(response.getBody()).getSucceeded());
+        assertEquals(1, response.getBody().getFailed());
+    }
+
+    /**
+     * Tests the bulk update of products.
+     * Verifies that the response status is OK and the batch result of the service is returned.
+     */
+    @Test
+    void updateProductsSuccessfully() {
+        ProductDto productDto = new ProductDto();
+        productDto.setId(1L);
+        BatchResultDto<ProductDto> result = new BatchResultDto<>(List.of(BatchItemResultDto.succeeded(0, productDto)));
+        when(productService.updateAll(anyList())).thenReturn(result);
+
+        ResponseEntity<BatchResultDto<ProductDto>> response = productController.updateProducts(List.of(productDto));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(result, response.getBody());
+    }
+
+    /**
+     * Tests the successful deletion of a product by its ID.
+     * Verifies that the response status is NO_CONTENT.
+     */
+    @Test
+    void deleteProductSuccessfully() {
+        ResponseEntity<Void> response = productController.deleteProduct(1L);
+
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        verify(productService, times(1)).delete(1L);
+    }
+
+    /**
+     * Tests the deletion of a product by its ID when the product is not found.
+     * Verifies that the ResourceNotFoundException of the service is propagated.
+     */
+    @Test
+    void deleteProductNotFound() {
+        doThrow(new ResourceNotFoundException("Entity with ID 1 does not exist.")).when(productService).delete(1L);
+
+        assertThrows(ResourceNotFoundException.class, () -> productController.deleteProduct(1L));
+    }
+
+    /**
+     * Tests the bulk deletion of products.
+     * Verifies that the response status is OK and the counts of the service are returned.
+     */
+    @Test
+    void deleteProductsSuccessfully() {
+        when(productService.deleteAll(anyList())).thenReturn(new BulkDeleteResultDto(3, 2));
+
+        ResponseEntity<BulkDeleteResultDto> response = productController.deleteProducts(List.of(1L, 2L, 3L));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2, Objects.requireNonNull(response.getBody()).getDeleted());
+        assertEquals(1, response.getBody().getNotFound());
+    }
+
+    private void mockStreamAll(Long... ids) {
+        doAnswer(invocation -> {
+            Consumer<ProductDto> consumer = invocation.getArgument(0);
+            for (Long id : ids) {
+                ProductDto productDto = new ProductDto();
+                productDto.setId(id);
+                consumer.accept(productDto);
+            }
+            return null;
+        }).when(productService).streamAll(any(Consumer.class));
+    }
+
+    private String writeBody(WebAsyncTask<Void> task) throws Exception {
+        task.getCallable().call();
+        return servletResponse.getContentAsString(StandardCharsets.UTF_8);
+    }
 }
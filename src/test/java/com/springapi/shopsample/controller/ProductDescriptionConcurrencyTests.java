@@ -0,0 +1,119 @@
+package com.springapi.shopsample.controller;
+
+import com.springapi.shopsample.entity.product.ProductEntity;
+import com.springapi.shopsample.entity.user.Role;
+import com.springapi.shopsample.entity.user.UserEntity;
+import com.springapi.shopsample.repository.ProductRepository;
+import com.springapi.shopsample.repository.UserRepository;
+import com.springapi.shopsample.security.JwtTokenProvider;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ProductDescriptionConcurrencyTests is a test class for concurrent calls of the description update endpoint.
+ * It starts the application on a random port against the embedded database and sends
+ * many PATCH requests for the same product at once, each from its own virtual thread.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.jpa.show-sql=false"
+)
+@ActiveProfiles("test")
+@AutoConfigureEmbeddedDatabase(
+        replace = AutoConfigureEmbeddedDatabase.Replace.ANY
+)
+class ProductDescriptionConcurrencyTests {
+
+    private static final int REQUESTS = 200;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    /**
+     * Tests concurrent description updates of the same product.
+     * Verifies that every request succeeds and the stored description is one of those sent.
+     */
+    @Test
+    void updateProductDescription_concurrentRequestsAllSucceed() throws Exception {
+        Long id = saveProduct();
+        String token = tokenOf(saveUser());
+        List<String> descriptions = IntStream.range(0, REQUESTS).mapToObj(i -> "Description " + i).toList();
+
+        List<Integer> statuses = new ArrayList<>();
+        try (HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<HttpResponse<String>>> responses = descriptions.stream()
+                    .map(description -> executor.submit(() -> client.send(patchRequest(id, description, token),
+                            HttpResponse.BodyHandlers.ofString())))
+                    .toList();
+            for (Future<HttpResponse<String>> response : responses) {
+                statuses.add(response.get().statusCode());
+            }
+        }
+
+        assertTrue(statuses.stream().allMatch(status -> status == 200), "Unexpected statuses: " + statuses);
+        String stored = productRepository.findById(id).orElseThrow().getDescription();
+        assertTrue(descriptions.contains(stored));
+    }
+
+    private HttpRequest patchRequest(Long id, String description, String token) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/products/" + id + "/description"))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"description\":\"" + description + "\"}"))
+                .build();
+    }
+
+    private Long saveProduct() {
+        ProductEntity entity = new ProductEntity();
+        entity.setName("Concurrent Product");
+        entity.setPrice(new BigDecimal("10.00"));
+        entity.setImageUrl("https://www.example.com/image.jpg");
+        return productRepository.save(entity).getId();
+    }
+
+    private UserEntity saveUser() {
+        UserEntity user = new UserEntity();
+        user.setUsername("concurrent-user");
+        user.setEmail("concurrent-user@example.com");
+        user.setPassword("{noop}password123");
+        user.setRoles(new HashSet<>(Set.of(Role.ROLE_USER)));
+        return userRepository.save(user);
+    }
+
+    private String tokenOf(UserEntity user) {
+        return jwtTokenProvider.generateToken(new UsernamePasswordAuthenticationToken(
+                user.getUsername(), null, List.of(new SimpleGrantedAuthority(Role.ROLE_USER.name()))));
+    }
+}
@@ -0,0 +1,157 @@
+package com.springapi.shopsample.controller;
+
+import com.springapi.shopsample.dto.product.ProductDto;
+import com.springapi.shopsample.service.ProductService;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ProductResponseCompressionTests is a test class for the compression of product responses.
+ * It starts the application on a random port against the embedded database,
+ * so the responses are compressed by the embedded server as they are for clients.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.jpa.show-sql=false"
+)
+@ActiveProfiles("test")
+@AutoConfigureEmbeddedDatabase(
+        replace = AutoConfigureEmbeddedDatabase.Replace.ANY
+)
+class ProductResponseCompressionTests {
+
+    private static final int PRODUCTS = 100;
+    private static final JsonMapper JSON_MAPPER = JsonMapper.builder().build();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ProductService productService;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @BeforeEach
+    void setUp() {
+        productService.createAll(IntStream.rangeClosed(1, PRODUCTS).mapToObj(ProductResponseCompressionTests::product).toList());
+    }
+
+    /**
+     * Tests a large product page requested by a client accepting gzip.
+     * Verifies that the page is sent gzip-compressed and keeps its validators.
+     */
+    @Test
+    void getAllProductsWithPaging_compressedWhenAccepted() throws Exception {
+        HttpResponse<byte[]> response = get("/api/products/paging?pageSize=" + PRODUCTS, "gzip");
+
+        assertEquals(200, response.statusCode());
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+        assertTrue(response.headers().firstValue("ETag").isPresent());
+        assertEquals(PRODUCTS, JSON_MAPPER.readTree(gunzip(response.body())).get("items").size());
+    }
+
+    /**
+     * Tests a large product page requested by a client not accepting gzip.
+     * Verifies that the page is not compressed.
+     */
+    @Test
+    void getAllProductsWithPaging_uncompressedWhenNotAccepted() throws Exception {
+        HttpResponse<byte[]> response = get("/api/products/paging?pageSize=" + PRODUCTS, null);
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("Content-Encoding").isEmpty());
+        assertEquals(PRODUCTS, JSON_MAPPER.readTree(response.body()).get("items").size());
+    }
+
+    /**
+     * Tests the full product list requested by a client accepting gzip.
+     * Verifies that the list is compressed exactly once, whether it is served from the snapshot or not.
+     */
+    @Test
+    void getAllProducts_compressedOnce() throws Exception {
+        HttpResponse<byte[]> response = get("/api/products", "gzip");
+
+        assertEquals(200, response.statusCode());
+        assertEquals(List.of("gzip"), response.headers().allValues("Content-Encoding"));
+        JsonNode products = JSON_MAPPER.readTree(gunzip(response.body()));
+        assertEquals(PRODUCTS, products.size());
+    }
+
+    /**
+     * Tests the full product list requested by a client refusing gzip with a zero quality value.
+     * Verifies that the list is neither served from the gzipped snapshot nor compressed by the server.
+     */
+    @Test
+    void getAllProducts_uncompressedWhenGzipRefused() throws Exception {
+        HttpResponse<byte[]> response = get("/api/products", "gzip;q=0, identity");
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("Content-Encoding").isEmpty());
+        assertTrue(JSON_MAPPER.readTree(response.body()).size() >= PRODUCTS);
+    }
+
+    /**
+     * Tests the product export requested by a client accepting gzip, then again with its ETag.
+     * Verifies that the streamed export is compressed and that the repeated request is answered with 304.
+     */
+    @Test
+    void exportProducts_compressedAndRevalidated() throws Exception {
+        HttpResponse<byte[]> response = get("/api/products/export?format=json", "gzip");
+
+        assertEquals(200, response.statusCode());
+        assertEquals("application/json", response.headers().firstValue("Content-Type").orElse(null));
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+        assertTrue(JSON_MAPPER.readTree(gunzip(response.body())).size() >= PRODUCTS);
+
+        String etag = response.headers().firstValue("ETag").orElseThrow();
+        HttpRequest revalidation = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/products/export?format=json"))
+                .header("If-None-Match", etag)
+                .build();
+        assertEquals(304, client.send(revalidation, HttpResponse.BodyHandlers.discarding()).statusCode());
+    }
+
+    private HttpResponse<byte[]> get(String path, String acceptEncoding) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Accept", "application/json");
+        if (acceptEncoding != null) {
+            request.header("Accept-Encoding", acceptEncoding);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static byte[] gunzip(byte[] bytes) throws IOException {
+        try (InputStream gzipped = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return gzipped.readAllBytes();
+        }
+    }
+
+    private static ProductDto product(int index) {
+        ProductDto dto = new ProductDto();
+        dto.setName("Compressed Product " + index);
+        dto.setDescription("Description of the compressed product " + index);
+        dto.setPrice(new BigDecimal("10.00"));
+        dto.setImageUrl("https://www.example.com/images/" + index + ".jpg");
+        return dto;
+    }
+}
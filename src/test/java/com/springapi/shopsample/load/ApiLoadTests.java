@@ -0,0 +1,285 @@
+package com.springapi.shopsample.load;
+
+import com.springapi.shopsample.entity.user.Role;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * ApiLoadTests measures the throughput and latency of the product and authentication endpoints.
+ * It starts the application on a random port against the embedded database, seeds products and users,
+ * and drives the endpoints over HTTP with a fixed number of concurrent virtual-thread clients.
+ * The search is measured with three kinds of terms, e.g. run it with {@code -Dload.products=1000000}
+ * to see its latency over a million rows: the number in a product's name matches a single row,
+ * "product" matches every row, so all of them are ranked to return the first page,
+ * and the mixed scenario alternates between the two.
+ *
+ * The suite is tagged "load" and excluded from the default build; run it with {@code mvn -Pload-test test}.
+ * Sizes are configurable through system properties: {@code load.products}, {@code load.users},
+ * {@code load.concurrency}, {@code load.requests}, {@code load.login-requests}, {@code load.register-requests}
+ * and {@code load.warmup-requests}.
+ * {@code load.scenarios} limits the run to the scenarios whose name contains one of its comma-separated values,
+ * e.g. {@code -Dload.scenarios=search,paging} skips the full product list, which does not scale to large catalogs.
+ * The report is printed to stdout and written to {@code target/load-test-report.txt}.
+ */
+@Tag("load")
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.jpa.show-sql=false",
+                "logging.level.com.springapi.shopsample=INFO",
+                // All clients share one address, the rate limit would reject most of the logins and registrations
+                "app.security.rate-limit.enabled=false"
+        }
+)
+@ActiveProfiles("test")
+@AutoConfigureEmbeddedDatabase(
+        replace = AutoConfigureEmbeddedDatabase.Replace.ANY
+)
+class ApiLoadTests {
+
+    private static final int PRODUCTS = Integer.getInteger("load.products", 1000);
+    private static final int USERS = Integer.getInteger("load.users", 20);
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 16);
+    private static final int REQUESTS = Integer.getInteger("load.requests", 2000);
+    private static final int LOGIN_REQUESTS = Integer.getInteger("load.login-requests", 200);
+    private static final int REGISTER_REQUESTS = Integer.getInteger("load.register-requests", 200);
+    private static final int WARMUP_REQUESTS = Integer.getInteger("load.warmup-requests", 200);
+    private static final List<String> SCENARIOS = Arrays.stream(System.getProperty("load.scenarios", "").split(","))
+            .map(String::strip)
+            .filter(name -> !name.isEmpty())
+            .toList();
+    private static final int PAGE_SIZE = 20;
+    private static final String PASSWORD = "load-test-password";
+    private static final Path REPORT = Path.of("target", "load-test-report.txt");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    /**
+     * Runs every scenario after a warm-up and reports the latency percentiles and throughput.
+     * Verifies that no request failed.
+     */
+    @Test
+    void measureThroughputAndLatency() throws Exception {
+        seedProducts();
+        seedUsers();
+
+        try (HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build()) {
+            List<String> tokens = new ArrayList<>();
+            for (int user = 0; user < USERS; user++) {
+                HttpResponse<String> response = client.send(loginRequest(user), HttpResponse.BodyHandlers.ofString());
+                assertEquals(200, response.statusCode());
+                JsonNode body = jsonMapper.readTree(response.body());
+                tokens.add(body.get("token").asString());
+            }
+
+            int pages = Math.max(1, PRODUCTS / PAGE_SIZE);
+            // Every registration, warm-up included, needs a username not taken yet
+            AtomicInteger registrations = new AtomicInteger();
+            List<Scenario> scenarios = List.of(
+                    new Scenario("GET /api/products", REQUESTS,
+                            i -> authorized("/api/products", tokens.get(i % USERS))),
+                    new Scenario("GET /api/products/paging", REQUESTS,
+                            i -> authorized("/api/products/paging?pageNumber=" + (i % pages + 1) + "&pageSize=" + PAGE_SIZE,
+                                    tokens.get(i % USERS))),
+                    new Scenario("GET /api/products/search single", REQUESTS,
+                            i -> search(String.valueOf(i % PRODUCTS + 1), tokens.get(i % USERS))),
+                    new Scenario("GET /api/products/search broad", REQUESTS,
+                            i -> search("product", tokens.get(i % USERS))),
+                    new Scenario("GET /api/products/search mixed", REQUESTS,
+                            i -> search(i % 2 == 0 ? "product" : String.valueOf(i % PRODUCTS + 1), tokens.get(i % USERS))),
+                    new Scenario("POST /api/auth/login", LOGIN_REQUESTS,
+                            i -> loginRequest(i % USERS)),
+                    new Scenario("POST /api/auth/register", REGISTER_REQUESTS,
+                            i -> registerRequest(registrations.getAndIncrement()))
+            );
+
+            List<ScenarioResult> results = new ArrayList<>();
+            for (Scenario scenario : scenarios) {
+                if (!SCENARIOS.isEmpty() && SCENARIOS.stream().noneMatch(scenario.name()::contains)) {
+                    continue;
+                }
+                run(client, scenario.name(), Math.min(WARMUP_REQUESTS, scenario.requests()), scenario.requestFactory());
+                results.add(run(client, scenario.name(), scenario.requests(), scenario.requestFactory()));
+            }
+
+            String report = report(results);
+            System.out.println(report);
+            Files.createDirectories(REPORT.getParent());
+            Files.writeString(REPORT, report);
+
+            for (ScenarioResult result : results) {
+                assertEquals(0, result.failures(), "Failed requests in " + result.name());
+            }
+        }
+    }
+
+    private ScenarioResult run(HttpClient client, String name, int requests, IntFunction<HttpRequest> requestFactory) {
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+
+        long start = System.nanoTime();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int worker = 0; worker < CONCURRENCY; worker++) {
+                workers.submit(() -> {
+                    for (int i = next.getAndIncrement(); i < requests; i = next.getAndIncrement()) {
+                        long begin = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(requestFactory.apply(i), HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() / 100 != 2) {
+                                failures.incrementAndGet();
+                            }
+                        } catch (IOException e) {
+                            failures.incrementAndGet();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                        latencies[i] = System.nanoTime() - begin;
+                    }
+                });
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        return new ScenarioResult(name, requests, failures.get(), elapsed,
+                percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 0.999),
+                latencies[latencies.length - 1]);
+    }
+
+    private void seedProducts() {
+        jdbcTemplate.update("""
+                INSERT INTO product (id, created_on, name, description, price, image_url)
+                SELECT nextval('product_seq'), now(), 'Product ' || n, 'Description of product ' || n,
+                       (n % 1000) + 0.99, 'https://www.example.com/images/' || n || '.jpg'
+                FROM generate_series(1, ?) AS n
+                """, PRODUCTS);
+        // Fresh statistics, so the planner picks the indexes (e.g. the GIN index of the search) as it would in production
+        jdbcTemplate.execute("ANALYZE product");
+    }
+
+    private void seedUsers() {
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+        for (int user = 0; user < USERS; user++) {
+            Long id = jdbcTemplate.queryForObject("SELECT nextval('app_user_seq')", Long.class);
+            jdbcTemplate.update("INSERT INTO app_user (id, created_on, username, email, password, enabled, roles) VALUES (?, ?, ?, ?, ?, true, ?)",
+                    id, LocalDateTime.now(), username(user), username(user) + "@example.com", passwordHash, Role.ROLE_USER.getBit());
+        }
+    }
+
+    private HttpRequest loginRequest(int user) {
+        String body = jsonMapper.writeValueAsString(new Credentials(username(user), PASSWORD));
+        return HttpRequest.newBuilder(uri("/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest registerRequest(int registration) {
+        String username = "load-registered-" + registration;
+        String body = jsonMapper.writeValueAsString(new Registration(username, username + "@example.com", PASSWORD));
+        return HttpRequest.newBuilder(uri("/api/auth/register"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest search(String query, String token) {
+        return authorized("/api/products/search?q=" + query + "&pageSize=" + PAGE_SIZE, token);
+    }
+
+    private HttpRequest authorized(String path, String token) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static String username(int user) {
+        return "load-user-" + user;
+    }
+
+    private static long percentile(long[] sortedLatencies, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(0, index)];
+    }
+
+    private static String report(List<ScenarioResult> results) {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Load test: %d products, %d users, concurrency %d%n", PRODUCTS, USERS, CONCURRENCY));
+        report.append(String.format("%-32s %8s %8s %10s %10s %10s %10s %10s%n",
+                "Scenario", "Requests", "Failed", "RPS", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+        for (ScenarioResult result : results) {
+            report.append(String.format("%-32s %8d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                    result.name(), result.requests(), result.failures(), result.requestsPerSecond(),
+                    millis(result.p50()), millis(result.p99()), millis(result.p999()), millis(result.max())));
+        }
+        return report.toString();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private record Credentials(String username, String password) {
+    }
+
+    private record Registration(String username, String email, String password) {
+    }
+
+    private record Scenario(String name, int requests, IntFunction<HttpRequest> requestFactory) {
+    }
+
+    private record ScenarioResult(String name, int requests, int failures, long elapsedNanos,
+                                  long p50, long p99, long p999, long max) {
+
+        double requestsPerSecond() {
+            return requests / (elapsedNanos / 1_000_000_000.0);
+        }
+    }
+}
@@ -1,17 +1,27 @@
 package com.springapi.shopsample.repository;
 
 import com.springapi.shopsample.entity.product.ProductEntity;
+import com.springapi.shopsample.repository.projection.ProductView;
 import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.sql.DataSource;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -31,6 +41,12 @@ public class ProductRepositoryTests {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
     /**
      * Tests that all products are retrieved successfully.
      * Verifies that the first product in the list has the expected name.
@@ -94,6 +110,36 @@ public class ProductRepositoryTests {
         assertFalse(foundProduct.isPresent());
     }
 
+    /**
+     * Tests that a single-statement delete reports the number of deleted rows.
+     * Verifies that an existing product is deleted and a missing one yields 0.
+     */
+    @Test
+    @Transactional
+    void deleteByIdReturningCount_reportsDeletedRows() {
+        Long id = productRepository.findAll().getFirst().getId();
+
+        assertEquals(1, productRepository.deleteByIdReturningCount(id));
+        assertEquals(0, productRepository.deleteByIdReturningCount(id));
+        assertFalse(productRepository.existsById(id));
+    }
+
+    /**
+     * Tests that a bulk delete reports the number of deleted rows.
+     * Verifies that identifiers matching no product are ignored.
+     */
+    @Test
+    @Transactional
+    void deleteAllByIdInReturningCount_reportsDeletedRows() {
+        List<Long> ids = productRepository.findAll().stream().limit(3).map(ProductEntity::getId).toList();
+        long countBefore = productRepository.count();
+
+        int deleted = productRepository.deleteAllByIdInReturningCount(List.of(ids.get(0), ids.get(1), ids.get(2), -1L));
+
+        assertEquals(3, deleted);
+        assertEquals(countBefore - 3, productRepository.count());
+    }
+
     /**
      * Tests that saving a ProductEntity with a null name throws a DataIntegrityViolationException.
      */
@@ -106,4 +152,99 @@ public class ProductRepositoryTests {
 
         assertThrows(DataIntegrityViolationException.class, () -> productRepository.save(product));
     }
+
+    /**
+     * Tests that the row count estimate is read from PostgreSQL statistics.
+     * Verifies that the estimate is either unknown (-1) or not negative.
+     */
+    @Test
+    void estimateCount_returnsStatisticsEstimate() {
+        long estimate = productRepository.estimateCount();
+
+        assertTrue(estimate >= -1);
+    }
+
+    /**
+     * Tests that all products are streamed ordered by ID.
+     * Verifies that the stream contains every product in ascending ID order.
+     */
+    @Test
+    @Transactional
+    void streamAllByOrderByIdAsc_streamsProductsInIdOrder() {
+        List<Long> expectedIds = productRepository.findAll().stream()
+                .map(ProductEntity::getId)
+                .sorted()
+                .toList();
+
+        try (Stream<ProductEntity> products = productRepository.streamAllByOrderByIdAsc()) {
+            assertEquals(expectedIds, products.map(ProductEntity::getId).toList());
+        }
+    }
+
+    /**
+     * Tests that products following an ID are found as projections ordered by ID.
+     * Verifies that the limit is applied and the projected columns are filled.
+     */
+    @Test
+    @Transactional
+    void findViewsByIdGreaterThanOrderByIdAsc_returnsNextProductsInIdOrder() {
+        List<Long> expectedIds = productRepository.findAll().stream()
+                .map(ProductEntity::getId)
+                .sorted()
+                .skip(1)
+                .limit(2)
+                .toList();
+        Long firstId = productRepository.findViewsByOrderByIdAsc(Limit.of(1)).getFirst().getId();
+
+        List<ProductView> views = productRepository.findViewsByIdGreaterThanOrderByIdAsc(firstId, Limit.of(2));
+
+        assertEquals(expectedIds, views.stream().map(ProductView::getId).toList());
+        ProductView view = productRepository.findViewById(expectedIds.getFirst()).orElseThrow();
+        assertEquals(views.getFirst().getName(), view.getName());
+        assertNotNull(view.getPrice());
+        assertNotNull(view.getImageUrl());
+    }
+
+    /**
+     * Tests the full-text search of products.
+     * Verifies that a match in the name ranks above a match in the description and that unrelated products are not found.
+     */
+    @Test
+    void search_ranksNameMatchesFirst() {
+        ProductEntity bag = new ProductEntity();
+        bag.setName("Travel Bag");
+        bag.setDescription("Fits a 15 inch laptop");
+        bag.setPrice(BigDecimal.valueOf(49.99));
+        bag.setImageUrl("http://example.com/bag.jpg");
+        productRepository.save(bag);
+
+        Page<ProductView> result = productRepository.search("LAPTOP", PageRequest.of(0, 10));
+
+        assertEquals(List.of("Laptop", "Travel Bag"), result.getContent().stream().map(ProductView::getName).toList());
+        assertEquals(2, result.getTotalElements());
+        assertEquals("Fits a 15 inch laptop", result.getContent().get(1).getDescription());
+        assertTrue(productRepository.search("laptop -bag", PageRequest.of(0, 10)).getContent().stream()
+                .map(ProductView::getName)
+                .noneMatch("Travel Bag"::equals));
+    }
+
+    /**
+     * Tests the production migration scripts of the product table.
+     * Verifies that they build the dropped indexes concurrently, outside a transaction, and can be re-run safely.
+     */
+    @Test
+    void migrationScripts_createProductIndexesConcurrently() {
+        List<String> indexes = List.of("product_search_vector_idx", "product_price_id_idx",
+                "product_name_id_idx", "product_created_on_id_idx");
+        indexes.forEach(index -> jdbcTemplate.execute("DROP INDEX " + index));
+
+        ResourceDatabasePopulator migrations = new ResourceDatabasePopulator(
+                new ClassPathResource("db/migration/V1__product_search_vector.sql"),
+                new ClassPathResource("db/migration/V2__product_listing_indexes.sql"));
+        migrations.execute(dataSource);
+        migrations.execute(dataSource);
+
+        indexes.forEach(index -> assertNotNull(
+                jdbcTemplate.queryForObject("SELECT to_regclass(?)::text", String.class, index), index));
+    }
 }
@@ -0,0 +1,88 @@
+package com.springapi.shopsample.repository;
+
+import com.springapi.shopsample.entity.user.Role;
+import com.springapi.shopsample.entity.user.UserEntity;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * UserRepositoryTests is a test class for the UserRepository.
+ * It runs against the embedded database with the "test" profile
+ * and verifies how the roles of a user are stored.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureEmbeddedDatabase(
+        replace = AutoConfigureEmbeddedDatabase.Replace.ANY
+)
+class UserRepositoryTests {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    /**
+     * Tests saving and loading a user with several roles.
+     * Verifies that the roles are stored as the bitmask of their bits and loaded back.
+     */
+    @Test
+    void save_storesRolesAsBitmask() {
+        UserEntity user = user("bitmask-user");
+        user.setRoles(EnumSet.of(Role.ROLE_USER, Role.ROLE_ADMIN));
+        Long id = userRepository.save(user).getId();
+
+        Integer stored = jdbcTemplate.queryForObject("SELECT roles FROM app_user WHERE id = ?", Integer.class, id);
+
+        assertEquals(Role.ROLE_USER.getBit() | Role.ROLE_ADMIN.getBit(), stored);
+        assertEquals(Set.of(Role.ROLE_USER, Role.ROLE_ADMIN), userRepository.findByUsername("bitmask-user").orElseThrow().getRoles());
+    }
+
+    /**
+     * Tests the roles migration script against a database still storing roles in the user_roles table.
+     * Verifies that the roles are moved to the users' rows, the table is dropped and a second run changes nothing.
+     */
+    @Test
+    void migrationScript_migratesUserRolesTable() {
+        Long admin = userRepository.save(user("migrated-admin")).getId();
+        Long plain = userRepository.save(user("migrated-user")).getId();
+        jdbcTemplate.execute("CREATE TABLE user_roles (user_id bigint NOT NULL REFERENCES app_user, role varchar(255))");
+        jdbcTemplate.update("INSERT INTO user_roles (user_id, role) VALUES (?, 'ROLE_USER'), (?, 'ROLE_ADMIN'), (?, 'ROLE_USER')",
+                admin, admin, plain);
+
+        ResourceDatabasePopulator migration = new ResourceDatabasePopulator(new ClassPathResource("db/migration/V3__user_roles_bitmask.sql"));
+        // The DO block contains semicolons, the script is sent as a whole like psql would run it
+        migration.setSeparator(ScriptUtils.EOF_STATEMENT_SEPARATOR);
+        migration.execute(dataSource);
+        migration.execute(dataSource);
+
+        assertEquals(Set.of(Role.ROLE_USER, Role.ROLE_ADMIN), userRepository.findByUsername("migrated-admin").orElseThrow().getRoles());
+        assertEquals(Set.of(Role.ROLE_USER), userRepository.findByUsername("migrated-user").orElseThrow().getRoles());
+        assertNull(jdbcTemplate.queryForObject("SELECT to_regclass('user_roles')::text", String.class));
+    }
+
+    private static UserEntity user(String username) {
+        UserEntity user = new UserEntity();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("{noop}password123");
+        return user;
+    }
+}
@@ -0,0 +1,163 @@
+package com.springapi.shopsample.security;
+
+import com.springapi.shopsample.config.CacheConfig;
+import com.springapi.shopsample.entity.user.Role;
+import com.springapi.shopsample.entity.user.UserEntity;
+import com.springapi.shopsample.repository.UserRepository;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AppUserDetailsServiceTests is a test class for the principal loading and cache of AppUserDetailsService.
+ * It runs against the embedded database with the "test" profile and Hibernate statistics enabled.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@AutoConfigureEmbeddedDatabase(
+        replace = AutoConfigureEmbeddedDatabase.Replace.ANY
+)
+class AppUserDetailsServiceTests {
+
+    @Autowired
+    private AppUserDetailsService userDetailsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Sets up the test environment before each test.
+     * Clears the users cache so every test starts cold.
+     */
+    @BeforeEach
+    void setUp() {
+        Objects.requireNonNull(cacheManager.getCache(CacheConfig.USERS_CACHE)).clear();
+    }
+
+    /**
+     * Tests that the principal is cached and carries no password.
+     * Verifies that the second load returns the cached instance.
+     */
+    @Test
+    void loadPrincipal_cachesPrincipalWithoutPassword() {
+        saveUser("cached-user");
+
+        UserDetails first = userDetailsService.loadPrincipal("cached-user");
+        UserDetails second = userDetailsService.loadPrincipal("cached-user");
+
+        assertSame(first, second);
+        assertEquals("", first.getPassword());
+        assertTrue(first.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals(Role.ROLE_USER.name())));
+    }
+
+    /**
+     * Tests that disabling a user evicts their cached principal.
+     * Verifies that the next load sees the disabled user.
+     */
+    @Test
+    void loadPrincipal_afterUserDisabled_returnsDisabledPrincipal() {
+        UserEntity user = saveUser("disabled-user");
+        assertTrue(userDetailsService.loadPrincipal("disabled-user").isEnabled());
+
+        user.setEnabled(false);
+        userRepository.save(user);
+
+        assertFalse(userDetailsService.loadPrincipal("disabled-user").isEnabled());
+    }
+
+    /**
+     * Tests loading the user details of a user with several roles.
+     * Verifies that the user and all their roles are read by a single statement.
+     */
+    @Test
+    void loadUserByUsername_readsUserAndRolesInOneStatement() {
+        UserEntity user = saveUser("admin-user");
+        user.setRoles(new HashSet<>(Set.of(Role.ROLE_USER, Role.ROLE_ADMIN)));
+        userRepository.save(user);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        UserDetails userDetails = userDetailsService.loadUserByUsername("admin-user");
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(Set.of(Role.ROLE_USER.name(), Role.ROLE_ADMIN.name()),
+                AuthorityUtils.authorityListToSet(userDetails.getAuthorities()));
+    }
+
+    /**
+     * Tests that changing the roles of a user evicts their cached principal.
+     * Verifies that the next load carries the new roles.
+     */
+    @Test
+    void loadPrincipal_afterRolesChanged_returnsNewRoles() {
+        UserEntity user = saveUser("promoted-user");
+        assertEquals(Set.of(Role.ROLE_USER.name()),
+                AuthorityUtils.authorityListToSet(userDetailsService.loadPrincipal("promoted-user").getAuthorities()));
+
+        user.getRoles().add(Role.ROLE_ADMIN);
+        userRepository.save(user);
+
+        assertEquals(Set.of(Role.ROLE_USER.name(), Role.ROLE_ADMIN.name()),
+                AuthorityUtils.authorityListToSet(userDetailsService.loadPrincipal("promoted-user").getAuthorities()));
+    }
+
+    /**
+     * Tests that renaming a user evicts the principal cached under their former username.
+     * Verifies that the former username no longer authenticates and the new one does.
+     */
+    @Test
+    void loadPrincipal_afterUserRenamed_evictsFormerUsername() {
+        UserEntity user = saveUser("renamed-user");
+        assertNotNull(userDetailsService.loadPrincipal("renamed-user"));
+
+        user.setUsername("renamed-user-new");
+        userRepository.save(user);
+
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadPrincipal("renamed-user"));
+        assertEquals("renamed-user-new", userDetailsService.loadPrincipal("renamed-user-new").getUsername());
+    }
+
+    /**
+     * Tests that an explicit eviction drops the cached principal.
+     */
+    @Test
+    void evictPrincipal_dropsCachedPrincipal() {
+        saveUser("evicted-user");
+        UserDetails first = userDetailsService.loadPrincipal("evicted-user");
+
+        userDetailsService.evictPrincipal("evicted-user");
+
+        assertNotSame(first, userDetailsService.loadPrincipal("evicted-user"));
+    }
+
+    private UserEntity saveUser(String username) {
+        UserEntity user = new UserEntity();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("{noop}password123");
+        user.setRoles(new HashSet<>(Set.of(Role.ROLE_USER)));
+        return userRepository.save(user);
+    }
+}
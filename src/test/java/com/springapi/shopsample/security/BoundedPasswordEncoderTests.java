@@ -0,0 +1,75 @@
+package com.springapi.shopsample.security;
+
+import com.springapi.shopsample.exception.ServiceOverloadedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * BoundedPasswordEncoderTests is a test class for BoundedPasswordEncoder.
+ * It verifies that passwords are hashed by the delegate and that hashes beyond the queue capacity are rejected.
+ */
+class BoundedPasswordEncoderTests {
+
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @AfterEach
+    void tearDown() {
+        passwordEncoder.close();
+    }
+
+    /**
+     * Tests encoding a password and matching it.
+     * Verifies that the delegate's hash is returned and matches only the same password.
+     */
+    @Test
+    void encodeAndMatches_useDelegate() {
+        passwordEncoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 1, 1);
+
+        String encoded = passwordEncoder.encode("password123");
+
+        assertTrue(encoded.startsWith("$2a$04$"));
+        assertTrue(passwordEncoder.matches("password123", encoded));
+        assertFalse(passwordEncoder.matches("password124", encoded));
+    }
+
+    /**
+     * Tests a hash requested while every thread is hashing and the queue is full.
+     * Verifies that it is rejected at once and the hashes already accepted still complete.
+     */
+    @Test
+    void matches_rejectedWhenQueueFull() throws Exception {
+        CountDownLatch hashing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder delegate = mock(PasswordEncoder.class);
+        when(delegate.matches(any(), any())).thenAnswer(invocation -> {
+            hashing.countDown();
+            return release.await(10, TimeUnit.SECONDS);
+        });
+        passwordEncoder = new BoundedPasswordEncoder(delegate, 1, 1);
+
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> passwordEncoder.matches("a", "hash"));
+        assertTrue(hashing.await(10, TimeUnit.SECONDS));
+        Thread queuedThread = Thread.ofPlatform().start(() -> passwordEncoder.matches("b", "hash"));
+        while (queuedThread.getState() != Thread.State.WAITING) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(ServiceOverloadedException.class, () -> passwordEncoder.matches("c", "hash"));
+
+        release.countDown();
+        assertTrue(running.get(10, TimeUnit.SECONDS));
+        queuedThread.join(10_000);
+        assertFalse(queuedThread.isAlive());
+    }
+}
@@ -0,0 +1,150 @@
+package com.springapi.shopsample.security;
+
+import com.springapi.shopsample.entity.product.ProductEntity;
+import com.springapi.shopsample.entity.user.Role;
+import com.springapi.shopsample.entity.user.UserEntity;
+import com.springapi.shopsample.repository.ProductRepository;
+import com.springapi.shopsample.repository.UserRepository;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * JwtAuthenticationFilterTests is a test class for JwtAuthenticationFilter within the whole security filter chain.
+ * It starts the application on a random port against the embedded database
+ * and counts the tokens verified for public and protected product requests sending a bearer token.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.jpa.show-sql=false"
+)
+@ActiveProfiles("test")
+@AutoConfigureEmbeddedDatabase(
+        replace = AutoConfigureEmbeddedDatabase.Replace.ANY
+)
+class JwtAuthenticationFilterTests {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockitoSpyBean
+    private JwtTokenProvider jwtTokenProvider;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    private Long productId;
+
+    private String token;
+
+    /**
+     * Sets up the test environment before each test.
+     * Saves a product and a user and issues a token of the user.
+     */
+    @BeforeEach
+    void setUp() {
+        productId = saveProduct();
+        token = tokenOf(saveUser());
+        clearInvocations(jwtTokenProvider);
+    }
+
+    /**
+     * Tests reading a product with a valid and with an invalid bearer token.
+     * Verifies that both are served without verifying the token.
+     */
+    @Test
+    void getProduct_withToken_skipsTokenVerification() throws Exception {
+        assertEquals(200, send(productRequest("Bearer " + token)).statusCode());
+        assertEquals(200, send(productRequest("Bearer invalid")).statusCode());
+
+        verify(jwtTokenProvider, never()).parseToken(any());
+    }
+
+    /**
+     * Tests updating a product description with a valid and with an invalid bearer token.
+     * Verifies that the valid token is verified once and authenticates the request, the invalid one is rejected.
+     */
+    @Test
+    void updateProductDescription_withToken_verifiesTokenOnce() throws Exception {
+        assertEquals(200, send(patchRequest("Bearer " + token)).statusCode());
+        verify(jwtTokenProvider, times(1)).parseToken(token);
+
+        assertEquals(401, send(patchRequest("Bearer invalid")).statusCode());
+    }
+
+    /**
+     * Tests updating a product description with a token of a user that no longer exists.
+     * Verifies that the request is rejected as unauthenticated.
+     */
+    @Test
+    void updateProductDescription_withTokenOfDeletedUser_isUnauthorized() throws Exception {
+        userRepository.deleteAll();
+
+        assertEquals(401, send(patchRequest("Bearer " + token)).statusCode());
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest productRequest(String authorization) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/products/" + productId))
+                .header("Authorization", authorization)
+                .build();
+    }
+
+    private HttpRequest patchRequest(String authorization) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/products/" + productId + "/description"))
+                .header("Authorization", authorization)
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"description\":\"Updated\"}"))
+                .build();
+    }
+
+    private Long saveProduct() {
+        ProductEntity entity = new ProductEntity();
+        entity.setName("Filtered Product");
+        entity.setPrice(new BigDecimal("10.00"));
+        entity.setImageUrl("https://www.example.com/image.jpg");
+        return productRepository.save(entity).getId();
+    }
+
+    private UserEntity saveUser() {
+        userRepository.findByUsername("filter-user").ifPresent(userRepository::delete);
+        UserEntity user = new UserEntity();
+        user.setUsername("filter-user");
+        user.setEmail("filter-user@example.com");
+        user.setPassword("{noop}password123");
+        user.setRoles(Set.of(Role.ROLE_USER));
+        return userRepository.save(user);
+    }
+
+    private String tokenOf(UserEntity user) {
+        return jwtTokenProvider.generateToken(new UsernamePasswordAuthenticationToken(
+                user.getUsername(), null, List.of(new SimpleGrantedAuthority(Role.ROLE_USER.name()))));
+    }
+}
@@ -0,0 +1,123 @@
+package com.springapi.shopsample.security;
+
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JwtTokenProviderTests is a test class for JwtTokenProvider.
+ * It verifies that tokens are validated and their claims returned in a single parse.
+ */
+class JwtTokenProviderTests {
+
+    private static final String SECRET = "test-secret-key-that-is-long-enough-for-hs256";
+
+    private JwtTokenProvider jwtTokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenProvider = new JwtTokenProvider(SECRET, 3600000, 100);
+    }
+
+    /**
+     * Tests that a valid token is parsed into its claims.
+     * Verifies that the subject is the authenticated username.
+     */
+    @Test
+    void parseToken_WhenTokenIsValid_ShouldReturnClaims() {
+        String token = generateToken(jwtTokenProvider);
+
+        Optional<Claims> claims = jwtTokenProvider.parseToken(token);
+
+        assertTrue(claims.isPresent());
+        assertEquals("john", claims.get().getSubject());
+    }
+
+    /**
+     * Tests that a token signed with another key is rejected.
+     * Verifies that an empty result is returned instead of an exception.
+     */
+    @Test
+    void parseToken_WhenSignatureIsInvalid_ShouldReturnEmpty() {
+        JwtTokenProvider otherProvider = new JwtTokenProvider("another-secret-key-that-is-long-enough-for-hs256", 3600000, 0);
+        String token = generateToken(otherProvider);
+
+        assertTrue(jwtTokenProvider.parseToken(token).isEmpty());
+    }
+
+    /**
+     * Tests that an expired token is rejected.
+     * Verifies that an empty result is returned.
+     */
+    @Test
+    void parseToken_WhenTokenIsExpired_ShouldReturnEmpty() {
+        JwtTokenProvider expiredProvider = new JwtTokenProvider(SECRET, -60000, 0);
+        String token = generateToken(expiredProvider);
+
+        assertTrue(jwtTokenProvider.parseToken(token).isEmpty());
+    }
+
+    /**
+     * Tests that a malformed token is rejected.
+     * Verifies that an empty result is returned.
+     */
+    @Test
+    void parseToken_WhenTokenIsMalformed_ShouldReturnEmpty() {
+        assertTrue(jwtTokenProvider.parseToken("not-a-token").isEmpty());
+    }
+
+    /**
+     * Tests that a repeated token is served from the verified-token cache.
+     * Verifies that the same claims instance is returned for the second parse.
+     */
+    @Test
+    void parseToken_WhenTokenIsRepeated_ShouldReturnCachedClaims() {
+        String token = generateToken(jwtTokenProvider);
+
+        Claims first = jwtTokenProvider.parseToken(token).orElseThrow();
+        Claims second = jwtTokenProvider.parseToken(token).orElseThrow();
+
+        assertSame(first, second);
+    }
+
+    /**
+     * Tests that a token rejected once is not cached.
+     * Verifies that it keeps being rejected.
+     */
+    @Test
+    void parseToken_WhenTokenIsRejected_ShouldNotCacheIt() {
+        JwtTokenProvider expiredProvider = new JwtTokenProvider(SECRET, -60000, 0);
+        String token = generateToken(expiredProvider);
+
+        assertTrue(jwtTokenProvider.parseToken(token).isEmpty());
+        assertTrue(jwtTokenProvider.parseToken(token).isEmpty());
+    }
+
+    /**
+     * Tests parsing with the verified-token cache disabled.
+     * Verifies that every parse verifies the token again.
+     */
+    @Test
+    void parseToken_WhenCacheIsDisabled_ShouldVerifyEveryTime() {
+        JwtTokenProvider uncachedProvider = new JwtTokenProvider(SECRET, 3600000, 0);
+        String token = generateToken(uncachedProvider);
+
+        Claims first = uncachedProvider.parseToken(token).orElseThrow();
+        Claims second = uncachedProvider.parseToken(token).orElseThrow();
+
+        assertNotSame(first, second);
+        assertEquals(first.getSubject(), second.getSubject());
+    }
+
+    private String generateToken(JwtTokenProvider provider) {
+        return provider.generateToken(new UsernamePasswordAuthenticationToken(
+                "john", null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+}
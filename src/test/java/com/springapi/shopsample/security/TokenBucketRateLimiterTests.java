@@ -0,0 +1,111 @@
+package com.springapi.shopsample.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TokenBucketRateLimiterTests is a test class for TokenBucketRateLimiter.
+ * It drives the limiter with a manual clock and verifies how the tokens of a key are taken and refilled.
+ */
+class TokenBucketRateLimiterTests {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+    private TokenBucketRateLimiter rateLimiter;
+
+    /**
+     * Sets up the test environment before each test.
+     * Creates a limiter of 3 tokens per key refilled over 3 seconds, i.e. one token per second.
+     */
+    @BeforeEach
+    void setUp() {
+        rateLimiter = new TokenBucketRateLimiter(3, Duration.ofSeconds(3), 100, now::get);
+    }
+
+    /**
+     * Tests taking more tokens than the capacity at once.
+     * Verifies that the capacity of tokens is taken and the next request is told to wait for one token interval.
+     */
+    @Test
+    void acquire_rejectedWhenBucketEmpty() {
+        assertEquals(0, rateLimiter.acquire("client"));
+        assertEquals(0, rateLimiter.acquire("client"));
+        assertEquals(0, rateLimiter.acquire("client"));
+
+        assertEquals(Duration.ofSeconds(1).toNanos(), rateLimiter.acquire("client"));
+    }
+
+    /**
+     * Tests taking tokens after waiting.
+     * Verifies that a token is refilled per interval and an idle bucket refills no further than its capacity.
+     */
+    @Test
+    void acquire_refillsOverTime() {
+        IntStream.range(0, 3).forEach(i -> rateLimiter.acquire("client"));
+
+        now.addAndGet(Duration.ofMillis(1500).toNanos());
+        assertEquals(0, rateLimiter.acquire("client"));
+        assertEquals(Duration.ofMillis(500).toNanos(), rateLimiter.acquire("client"));
+
+        now.addAndGet(Duration.ofMinutes(10).toNanos());
+        assertEquals(0, rateLimiter.acquire("client"));
+        assertEquals(0, rateLimiter.acquire("client"));
+        assertEquals(0, rateLimiter.acquire("client"));
+        assertTrue(rateLimiter.acquire("client") > 0);
+    }
+
+    /**
+     * Tests taking tokens of different keys.
+     * Verifies that an empty bucket of one key does not limit another key.
+     */
+    @Test
+    void acquire_keysAreIndependent() {
+        IntStream.range(0, 4).forEach(i -> rateLimiter.acquire("first"));
+
+        assertTrue(rateLimiter.acquire("first") > 0);
+        assertEquals(0, rateLimiter.acquire("second"));
+    }
+
+    /**
+     * Tests many threads taking tokens of the same key at once.
+     * Verifies that exactly the capacity of tokens is taken.
+     */
+    @Test
+    void acquire_concurrentRequestsTakeCapacityOnly() throws Exception {
+        rateLimiter = new TokenBucketRateLimiter(100, Duration.ofHours(1), 100, now::get);
+
+        long granted;
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            var results = IntStream.range(0, 8)
+                    .mapToObj(i -> executor.submit(() -> IntStream.range(0, 1000)
+                            .filter(j -> rateLimiter.acquire("client") == 0)
+                            .count()))
+                    .toList();
+            granted = 0;
+            for (Future<Long> result : results) {
+                granted += result.get();
+            }
+        }
+
+        assertEquals(100, granted);
+    }
+
+    /**
+     * Tests creating a limiter without tokens.
+     * Verifies that it is refused.
+     */
+    @Test
+    void constructor_rejectsZeroCapacity() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new TokenBucketRateLimiter(0, Duration.ofSeconds(1), 100));
+    }
+}
@@ -0,0 +1,124 @@
+package com.springapi.shopsample.service;
+
+import com.springapi.shopsample.dto.auth.AuthResponseDto;
+import com.springapi.shopsample.dto.auth.RegisterRequestDto;
+import com.springapi.shopsample.entity.user.Role;
+import com.springapi.shopsample.entity.user.UserEntity;
+import com.springapi.shopsample.exception.ResourceConflictException;
+import com.springapi.shopsample.repository.UserRepository;
+import com.springapi.shopsample.security.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Metrics;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AuthServiceRegistrationTests is a test class for the registration of AuthService.
+ * It runs against the embedded database with Hibernate statistics enabled
+ * and verifies the statements and password hashes a registration costs.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@AutoConfigureEmbeddedDatabase(
+        replace = AutoConfigureEmbeddedDatabase.Replace.ANY
+)
+class AuthServiceRegistrationTests {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private ProductCatalogSnapshot catalogSnapshot;
+
+    private Statistics statistics;
+
+    /**
+     * Sets up the test environment before each test.
+     * Resets the Hibernate statistics.
+     */
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    /**
+     * Tests the registration of a new user.
+     * Verifies that the user is stored with a single hash and no query, and the token carries the user's role.
+     */
+    @Test
+    void register_storesUserWithOneHashAndNoQuery() {
+        double encodes = hashCount("encode");
+        double matches = hashCount("matches");
+
+        AuthResponseDto response = authService.register(request("new-user", "new-user@example.com"));
+
+        assertEquals(encodes + 1, hashCount("encode"));
+        assertEquals(matches, hashCount("matches"));
+        assertEquals(0, statistics.getQueryExecutionCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(1, statistics.getEntityInsertCount());
+        Claims claims = jwtTokenProvider.parseToken(response.getToken()).orElseThrow();
+        assertEquals("new-user", claims.getSubject());
+        assertEquals(List.of(Role.ROLE_USER.name()), claims.get("roles", List.class));
+        UserEntity stored = userRepository.findByUsername("new-user").orElseThrow();
+        assertTrue(passwordEncoder.matches("password123", stored.getPassword()));
+        assertEquals(Set.of(Role.ROLE_USER), stored.getRoles());
+    }
+
+    /**
+     * Tests the registration of a taken username and of a taken email.
+     * Verifies that each is rejected with its own conflict message.
+     */
+    @Test
+    void register_duplicateUsernameOrEmailConflicts() {
+        authService.register(request("taken-user", "taken-user@example.com"));
+
+        ResourceConflictException username = assertThrows(ResourceConflictException.class,
+                () -> authService.register(request("taken-user", "other-user@example.com")));
+        ResourceConflictException email = assertThrows(ResourceConflictException.class,
+                () -> authService.register(request("other-user", "taken-user@example.com")));
+
+        assertEquals("Username is already taken", username.getMessage());
+        assertEquals("Email is already in use", email.getMessage());
+        assertTrue(userRepository.findByUsername("other-user").isEmpty());
+    }
+
+    private static RegisterRequestDto request(String username, String email) {
+        RegisterRequestDto request = new RegisterRequestDto();
+        request.setUsername(username);
+        request.setEmail(email);
+        request.setPassword("password123");
+        return request;
+    }
+
+    private static double hashCount(String operation) {
+        return Metrics.globalRegistry.get("auth.password.hashing.time").tag("operation", operation).timer().count();
+    }
+}
@@ -0,0 +1,121 @@
+package com.springapi.shopsample.service;
+
+import com.springapi.shopsample.dto.product.ProductDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * ProductCatalogSnapshotTests is a test class for the encoded snapshot of the product catalog.
+ * It uses Mockito to mock the product service and the transaction manager.
+ */
+class ProductCatalogSnapshotTests {
+
+    private static final JsonMapper JSON_MAPPER = JsonMapper.builder().build();
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ProductCatalogVersion catalogVersion;
+
+    private ProductCatalogSnapshot catalogSnapshot;
+
+    /**
+     * Sets up the test environment before each test.
+     * The product service streams two products.
+     */
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        catalogVersion = new ProductCatalogVersion(Duration.ZERO, event -> { });
+        catalogSnapshot = snapshot(DataSize.ofMegabytes(1));
+        doAnswer(invocation -> {
+            Consumer<ProductDto> consumer = invocation.getArgument(0);
+            consumer.accept(product(1L));
+            consumer.accept(product(2L));
+            return null;
+        }).when(productService).streamAll(any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        catalogSnapshot.close();
+    }
+
+    /**
+     * Tests a rebuilt snapshot.
+     * Verifies that it holds the JSON array of the products and a gzip-compressed copy of it.
+     */
+    @Test
+    void rebuild_encodesProductsAndGzippedCopy() throws IOException {
+        catalogSnapshot.rebuild();
+
+        byte[] json = catalogSnapshot.get(false).orElseThrow();
+        JsonNode products = JSON_MAPPER.readTree(json);
+        assertEquals(2, products.size());
+        assertEquals(1, products.get(0).get("id").asInt());
+        assertEquals(2, products.get(1).get("id").asInt());
+        try (GZIPInputStream gzipped = new GZIPInputStream(new ByteArrayInputStream(catalogSnapshot.get(true).orElseThrow()))) {
+            assertArrayEquals(json, gzipped.readAllBytes());
+        }
+    }
+
+    /**
+     * Tests the snapshot after a change of the catalog.
+     * Verifies that it is no longer served until it is rebuilt.
+     */
+    @Test
+    void get_emptyAfterCatalogChanged() {
+        catalogSnapshot.rebuild();
+
+        catalogVersion.changed();
+
+        assertTrue(catalogSnapshot.get(false).isEmpty());
+        catalogSnapshot.rebuild();
+        assertTrue(catalogSnapshot.get(false).isPresent());
+    }
+
+    /**
+     * Tests a catalog encoding to more than the maximum size.
+     * Verifies that no snapshot is kept.
+     */
+    @Test
+    void rebuild_skipsCatalogAboveMaximumSize() {
+        catalogSnapshot.close();
+        catalogSnapshot = snapshot(DataSize.ofBytes(16));
+
+        catalogSnapshot.rebuild();
+
+        assertTrue(catalogSnapshot.get(false).isEmpty());
+    }
+
+    private ProductCatalogSnapshot snapshot(DataSize maxSize) {
+        return new ProductCatalogSnapshot(productService, catalogVersion, JSON_MAPPER, transactionManager, maxSize, true, 9);
+    }
+
+    private static ProductDto product(Long id) {
+        ProductDto dto = new ProductDto();
+        dto.setId(id);
+        dto.setName("Product " + id);
+        return dto;
+    }
+}
@@ -0,0 +1,140 @@
+package com.springapi.shopsample.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ProductCatalogVersionTests is a test class for the validators of conditional product requests.
+ * The catalog versions read a manually advanced clock.
+ */
+class ProductCatalogVersionTests {
+
+    private static final Instant START = Instant.parse("2025-01-01T10:00:00.250Z");
+
+    private final MutableClock clock = new MutableClock(START);
+
+    /**
+     * Tests two changes of the catalog within the same second.
+     * Verifies that each change issues a new weak ETag, and that Last-Modified is withheld until the second
+     * of the changes is over and then never later than the clock.
+     */
+    @Test
+    void changed_issuesNewValidators() {
+        ProductCatalogVersion catalogVersion = new ProductCatalogVersion(Duration.ZERO, event -> { }, clock);
+        clock.advance(Duration.ofSeconds(1));
+        ProductCatalogVersion.Validators initial = catalogVersion.getValidators();
+
+        assertEquals(initial, catalogVersion.getValidators());
+        assertEquals(START.getEpochSecond() * 1000, initial.lastModified());
+
+        catalogVersion.changed();
+        ProductCatalogVersion.Validators first = catalogVersion.getValidators();
+        catalogVersion.changed();
+        ProductCatalogVersion.Validators second = catalogVersion.getValidators();
+
+        assertNotEquals(initial.etag(), first.etag());
+        assertNotEquals(first.etag(), second.etag());
+        assertTrue(second.etag().startsWith("W/\"") && second.etag().endsWith("\""));
+        assertEquals(-1, first.lastModified());
+        assertEquals(-1, second.lastModified());
+
+        clock.advance(Duration.ofSeconds(1));
+        ProductCatalogVersion.Validators settled = catalogVersion.getValidators();
+
+        assertEquals(second.etag(), settled.etag());
+        assertEquals(START.plusSeconds(1).getEpochSecond() * 1000, settled.lastModified());
+        assertTrue(settled.lastModified() <= clock.millis());
+    }
+
+    /**
+     * Tests two catalog versions created at the same time, as by two processes.
+     * Verifies that their ETags differ although their catalogs have the same number of changes.
+     */
+    @Test
+    void getValidators_etagsDifferBetweenProcesses() {
+        ProductCatalogVersion first = new ProductCatalogVersion(Duration.ZERO, event -> { }, clock);
+        ProductCatalogVersion second = new ProductCatalogVersion(Duration.ZERO, event -> { }, clock);
+
+        assertNotEquals(first.getValidators().etag(), second.getValidators().etag());
+    }
+
+    /**
+     * Tests a change of the catalog inside a transaction.
+     * Verifies that the validators change only once the transaction completed.
+     */
+    @Test
+    void changed_insideTransactionAppliesAfterCompletion() {
+        ProductCatalogVersion catalogVersion = new ProductCatalogVersion(Duration.ZERO, event -> { }, clock);
+        ProductCatalogVersion.Validators initial = catalogVersion.getValidators();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            catalogVersion.changed();
+            assertEquals(initial, catalogVersion.getValidators());
+
+            TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(),
+                    TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertNotEquals(initial.etag(), catalogVersion.getValidators().etag());
+    }
+
+    /**
+     * Tests the validators right after a change of the catalog.
+     * Verifies that none are issued within the settle time.
+     */
+    @Test
+    void getValidators_noneWithinSettleTime() {
+        ProductCatalogVersion catalogVersion = new ProductCatalogVersion(Duration.ofHours(1), event -> { }, clock);
+
+        assertNotNull(catalogVersion.getValidators());
+
+        catalogVersion.changed();
+
+        assertNull(catalogVersion.getValidators());
+
+        clock.advance(Duration.ofHours(1));
+
+        assertNotNull(catalogVersion.getValidators());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
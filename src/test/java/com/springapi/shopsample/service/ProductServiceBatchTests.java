@@ -0,0 +1,118 @@
+package com.springapi.shopsample.service;
+
+import com.springapi.shopsample.config.CacheConfig;
+import com.springapi.shopsample.dto.BatchItemResultDto;
+import com.springapi.shopsample.dto.BatchResultDto;
+import com.springapi.shopsample.dto.product.ProductDto;
+import com.springapi.shopsample.entity.product.ProductEntity;
+import com.springapi.shopsample.repository.ProductRepository;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ProductServiceBatchTests is a test class for the batch operations of ProductService.
+ * It runs against the embedded database with the "test" profile and a chunk size of 2,
+ * so that every batch spans several chunks.
+ */
+@SpringBootTest(properties = "app.batch.chunk-size=2")
+@ActiveProfiles("test")
+@AutoConfigureEmbeddedDatabase(
+        replace = AutoConfigureEmbeddedDatabase.Replace.ANY
+)
+class ProductServiceBatchTests {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    /**
+     * Tests the bulk creation of valid and invalid products.
+     * Verifies that valid products are created with generated IDs and invalid ones are reported by their position.
+     */
+    @Test
+    void createAll_createsValidProductsAndReportsInvalidOnes() {
+        ProductDto invalid = product("Invalid");
+        invalid.setName(null);
+        ProductDto withClientId = product("Client ID");
+        withClientId.setId(999_999L);
+
+        BatchResultDto<ProductDto> result = productService.createAll(List.of(
+                product("First"), invalid, withClientId, product("Fourth"), product("Fifth")));
+
+        assertEquals(4, result.getSucceeded());
+        assertEquals(1, result.getFailed());
+        BatchItemResultDto<ProductDto> failed = result.getItems().get(1);
+        assertFalse(failed.isSuccess());
+        assertEquals(1, failed.getIndex());
+        assertEquals(List.of("Product name is required"), failed.getErrors());
+        assertNotEquals(999_999L, result.getItems().get(2).getItem().getId());
+        assertEquals(4, productRepository.count());
+    }
+
+    /**
+     * Tests the bulk creation of a chunk containing a product rejected by the database.
+     * Verifies that the other product of the same chunk is still created.
+     */
+    @Test
+    void createAll_isolatesItemRejectedByDatabase() {
+        ProductDto tooLongImageUrl = product("Too Long Image URL");
+        tooLongImageUrl.setImageUrl("https://www.example.com/" + "x".repeat(300));
+
+        BatchResultDto<ProductDto> result = productService.createAll(List.of(product("Stored"), tooLongImageUrl));
+
+        assertTrue(result.getItems().get(0).isSuccess());
+        assertFalse(result.getItems().get(1).isSuccess());
+        assertTrue(result.getItems().get(1).getErrors().getFirst().startsWith("Item could not be stored"));
+        assertEquals(List.of("Stored"), productRepository.findAll().stream().map(ProductEntity::getName).toList());
+    }
+
+    /**
+     * Tests the bulk update of existing, missing and unidentified products.
+     * Verifies that existing products are updated, the others are reported and the products cache is cleared.
+     */
+    @Test
+    void updateAll_updatesExistingProductsAndReportsOthers() {
+        List<ProductDto> created = new ArrayList<>(productService.createAll(List.of(product("One"), product("Two"), product("Three")))
+                .getItems().stream().map(BatchItemResultDto::getItem).toList());
+        productService.getById(created.getFirst().getId());
+        created.forEach(dto -> dto.setName(dto.getName() + " Updated"));
+        ProductDto missing = product("Missing");
+        missing.setId(-1L);
+        ProductDto withoutId = product("Without ID");
+
+        List<ProductDto> batch = new ArrayList<>(created);
+        batch.addAll(Arrays.asList(missing, withoutId));
+        BatchResultDto<ProductDto> result = productService.updateAll(batch);
+
+        assertEquals(3, result.getSucceeded());
+        assertEquals(List.of("Entity with ID -1 does not exist."), result.getItems().get(3).getErrors());
+        assertEquals(List.of("ID is required"), result.getItems().get(4).getErrors());
+        assertEquals("One Updated", productRepository.findById(created.getFirst().getId()).orElseThrow().getName());
+        assertNull(Objects.requireNonNull(cacheManager.getCache(CacheConfig.PRODUCTS_CACHE)).get(created.getFirst().getId()));
+    }
+
+    private ProductDto product(String name) {
+        ProductDto dto = new ProductDto();
+        dto.setName(name);
+        dto.setPrice(new BigDecimal("10.00"));
+        dto.setImageUrl("https://www.example.com/image.jpg");
+        return dto;
+    }
+}
@@ -0,0 +1,191 @@
+package com.springapi.shopsample.service;
+
+import com.springapi.shopsample.config.CacheConfig;
+import com.springapi.shopsample.dto.product.ProductDescriptionUpdateRequestDto;
+import com.springapi.shopsample.dto.product.ProductDto;
+import com.springapi.shopsample.entity.product.ProductEntity;
+import com.springapi.shopsample.repository.ProductRepository;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+
+/**
+ * ProductServiceCacheTests is a test class for the product cache of ProductService.
+ * It runs against the embedded database with the "test" profile and verifies that
+ * reads by ID are cached and that every write path evicts the cached product.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureEmbeddedDatabase(
+        replace = AutoConfigureEmbeddedDatabase.Replace.ANY
+)
+class ProductServiceCacheTests {
+
+    @Autowired
+    private ProductService productService;
+
+    @MockitoSpyBean
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Cache productsCache;
+
+    /**
+     * Sets up the test environment before each test.
+     * Clears the products cache so every test starts cold.
+     */
+    @BeforeEach
+    void setUp() {
+        productsCache = Objects.requireNonNull(cacheManager.getCache(CacheConfig.PRODUCTS_CACHE));
+        productsCache.clear();
+    }
+
+    /**
+     * Tests that a product read by ID is served from the cache on the next read.
+     * Verifies that a change made directly in the database is not visible until the entry is evicted.
+     */
+    @Test
+    void getById_cachesProduct() {
+        Long id = saveProduct("Cached Product");
+
+        productService.getById(id);
+        ProductEntity entity = productRepository.findById(id).orElseThrow();
+        entity.setName("Changed Behind The Cache");
+        productRepository.save(entity);
+
+        assertNotNull(productsCache.get(id));
+        assertEquals("Cached Product", productService.getById(id).orElseThrow().getName());
+    }
+
+    /**
+     * Tests that a missing product is not cached.
+     */
+    @Test
+    void getById_doesNotCacheMissingProduct() {
+        Optional<ProductDto> product = productService.getById(-1L);
+
+        assertFalse(product.isPresent());
+        assertNull(productsCache.get(-1L));
+    }
+
+    /**
+     * Tests that updating a product evicts its cached entry.
+     */
+    @Test
+    void update_evictsCachedProduct() {
+        Long id = saveProduct("Product To Update");
+        ProductDto product = productService.getById(id).orElseThrow();
+
+        product.setName("Updated Product");
+        productService.update(product);
+
+        assertNull(productsCache.get(id));
+        assertEquals("Updated Product", productService.getById(id).orElseThrow().getName());
+    }
+
+    /**
+     * Tests a read by ID that loads the product before an update and stores it in the cache after the update evicted it.
+     * Verifies that the product loaded before the update is not kept in the cache.
+     */
+    @Test
+    void getById_racingUpdate_doesNotCacheStaleProduct() throws Exception {
+        Long id = saveProduct("Product Before Update");
+        ProductDto update = productService.getById(id).orElseThrow();
+        productsCache.clear();
+        CountDownLatch loaded = new CountDownLatch(1);
+        CountDownLatch updated = new CountDownLatch(1);
+        Answer<?> repository = mockingDetails(productRepository).getMockCreationSettings().getDefaultAnswer();
+        doAnswer(invocation -> {
+            Object view = repository.answer(invocation);
+            if (loaded.getCount() > 0) {
+                loaded.countDown();
+                assertTrue(updated.await(10, TimeUnit.SECONDS));
+            }
+            return view;
+        }).when(productRepository).findViewById(any());
+
+        CompletableFuture<Optional<ProductDto>> read = CompletableFuture.supplyAsync(() -> productService.getById(id));
+        assertTrue(loaded.await(10, TimeUnit.SECONDS));
+        update.setName("Product After Update");
+        productService.update(update);
+        updated.countDown();
+
+        assertEquals("Product Before Update", read.get(10, TimeUnit.SECONDS).orElseThrow().getName());
+        assertNull(productsCache.get(id));
+        assertEquals("Product After Update", productService.getById(id).orElseThrow().getName());
+    }
+
+    /**
+     * Tests that updating the description of a product evicts its cached entry.
+     */
+    @Test
+    void updateDescription_evictsCachedProduct() {
+        Long id = saveProduct("Product To Describe");
+        productService.getById(id);
+
+        ProductDescriptionUpdateRequestDto dto = new ProductDescriptionUpdateRequestDto();
+        dto.setDescription("New description");
+        productService.updateDescription(id, dto);
+
+        assertNull(productsCache.get(id));
+        assertEquals("New description", productService.getById(id).orElseThrow().getDescription());
+    }
+
+    /**
+     * Tests that deleting a product evicts its cached entry.
+     */
+    @Test
+    void delete_evictsCachedProduct() {
+        Long id = saveProduct("Product To Delete");
+        productService.getById(id);
+
+        productService.delete(id);
+
+        assertNull(productsCache.get(id));
+        assertFalse(productService.getById(id).isPresent());
+    }
+
+    /**
+     * Tests that creating a product leaves no cached entry under its new ID.
+     */
+    @Test
+    void create_leavesNoCachedProduct() {
+        ProductDto dto = new ProductDto();
+        dto.setName("Created Product");
+        dto.setPrice(BigDecimal.valueOf(9.99));
+        dto.setImageUrl("http://example.com/image.jpg");
+
+        ProductDto created = productService.create(dto).orElseThrow();
+
+        assertNull(productsCache.get(created.getId()));
+    }
+
+    private Long saveProduct(String name) {
+        ProductEntity product = new ProductEntity();
+        product.setName(name);
+        product.setPrice(BigDecimal.valueOf(19.99));
+        product.setImageUrl("http://example.com/image.jpg");
+        return productRepository.save(product).getId();
+    }
+}
@@ -1,20 +1,30 @@
 package com.springapi.shopsample.service;
 
+import com.springapi.shopsample.dto.CountMode;
+import com.springapi.shopsample.dto.CursorPagingDto;
 import com.springapi.shopsample.dto.PagingDto;
 import com.springapi.shopsample.dto.product.ProductDto;
+import com.springapi.shopsample.dto.product.ProductFilterDto;
+import com.springapi.shopsample.dto.product.ProductSortField;
 import com.springapi.shopsample.entity.product.ProductEntity;
+import com.springapi.shopsample.exception.ResourceNotFoundException;
 import com.springapi.shopsample.mapper.ProductMapper;
 import com.springapi.shopsample.repository.ProductRepository;
+import com.springapi.shopsample.repository.projection.ProductView;
 import com.springapi.shopsample.service.impl.ProductServiceImpl;
+import com.springapi.shopsample.util.CursorCodec;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
 import java.util.Collections;
@@ -37,6 +47,9 @@ class ProductServiceTests {
     @Mock
     private ProductMapper productMapper;
 
+    @Mock
+    private ProductCatalogVersion catalogVersion;
+
     @InjectMocks
     private ProductServiceImpl productService;
 
@@ -51,7 +64,7 @@ class ProductServiceTests {
 
     /**
      * Tests the successful creation of a product.
-     * Verifies that the created product is not null and has the expected name.
+     * Verifies that the created product is not null, has the expected name and changes the catalog version.
      */
     @Test
     void createProductSuccessfully() {
@@ -67,6 +80,7 @@ class ProductServiceTests {
 
         assertTrue(createdProduct.isPresent());
         assertEquals("Test Product", createdProduct.get().getName());
+        verify(catalogVersion).changed();
     }
 
     /**
@@ -86,17 +100,17 @@ class ProductServiceTests {
      */
     @Test
     void getProductByIdSuccessfully() {
-        ProductEntity productEntity = new ProductEntity();
-        productEntity.setId(1L);
+        ProductView productView = productView(1L);
         ProductDto productDto = new ProductDto();
         productDto.setId(1L);
-        when(productRepository.findById(1L)).thenReturn(Optional.of(productEntity));
-        when(productMapper.toDto(any(ProductEntity.class))).thenReturn(productDto);
+        when(productRepository.findViewById(1L)).thenReturn(Optional.of(productView));
+        when(productMapper.toDto(productView)).thenReturn(productDto);
 
         Optional<ProductDto> foundProduct = productService.getById(1L);
 
         assertTrue(foundProduct.isPresent());
         assertEquals(1L, foundProduct.get().getId());
+        verify(productRepository, never()).findById(any());
     }
 
     /**
@@ -105,7 +119,7 @@ class ProductServiceTests {
      */
     @Test
     void getProductByIdNotFound() {
-        when(productRepository.findById(1L)).thenReturn(Optional.empty());
+        when(productRepository.findViewById(1L)).thenReturn(Optional.empty());
 
         Optional<ProductDto> foundProduct = productService.getById(1L);
 
@@ -122,15 +136,32 @@ class ProductServiceTests {
         productDto.setId(1L);
         productDto.setName("Updated Product");
         ProductEntity productEntity = new ProductEntity();
-        when(productRepository.existsById(1L)).thenReturn(true);
-        when(productMapper.toEntity(any(ProductDto.class))).thenReturn(productEntity);
-        when(productRepository.save(any(ProductEntity.class))).thenReturn(productEntity);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(productEntity));
         when(productMapper.toDto(any(ProductEntity.class))).thenReturn(productDto);
 
         Optional<ProductDto> updatedProduct = productService.update(productDto);
 
         assertTrue(updatedProduct.isPresent());
         assertEquals("Updated Product", updatedProduct.get().getName());
+        verify(productMapper, times(1)).updateEntityFromDto(productDto, productEntity);
+        verify(productRepository, never()).existsById(any());
+        verify(productRepository, never()).save(any(ProductEntity.class));
+    }
+
+    /**
+     * Tests the update of a product that does not exist.
+     * Verifies that the updated product is not present and nothing is mapped.
+     */
+    @Test
+    void updateProductNotFound() {
+        ProductDto productDto = new ProductDto();
+        productDto.setId(1L);
+        when(productRepository.findById(1L)).thenReturn(Optional.empty());
+
+        Optional<ProductDto> updatedProduct = productService.update(productDto);
+
+        assertFalse(updatedProduct.isPresent());
+        verify(productMapper, never()).updateEntityFromDto(any(), any());
     }
 
     /**
@@ -146,26 +177,28 @@ class ProductServiceTests {
 
     /**
      * Tests the successful deletion of a product by its ID.
-     * Verifies that no exception is thrown and the product repository's deleteById method is called once.
+     * Verifies that no exception is thrown, a single delete statement is issued without an existence check
+     * and the catalog version is changed.
      */
     @Test
     void deleteProductSuccessfully() {
-        when(productRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(productRepository).deleteById(1L);
+        when(productRepository.deleteByIdReturningCount(1L)).thenReturn(1);
 
         assertDoesNotThrow(() -> productService.delete(1L));
-        verify(productRepository, times(1)).deleteById(1L);
+        verify(productRepository, times(1)).deleteByIdReturningCount(1L);
+        verify(productRepository, never()).existsById(any());
+        verify(catalogVersion).changed();
     }
 
     /**
      * Tests the deletion of a product by its ID when the product is not found.
-     * Verifies that a RuntimeException is thrown with the expected message.
+     * Verifies that a ResourceNotFoundException is thrown with the expected message.
      */
     @Test
     void deleteProductNotFound() {
-        when(productRepository.existsById(1L)).thenReturn(false);
+        when(productRepository.deleteByIdReturningCount(1L)).thenReturn(0);
 
-        RuntimeException exception = assertThrows(RuntimeException.class, () -> productService.delete(1L));
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> productService.delete(1L));
         assertEquals("Entity with ID 1 does not exist.", exception.getMessage());
     }
 
@@ -175,15 +208,13 @@ class ProductServiceTests {
      */
     @Test
     void findAllProductsSuccessfully() {
-        ProductEntity product1 = new ProductEntity();
-        product1.setId(1L);
-        ProductEntity product2 = new ProductEntity();
-        product2.setId(2L);
+        ProductView product1 = productView(1L);
+        ProductView product2 = productView(2L);
         ProductDto productDto1 = new ProductDto();
         productDto1.setId(1L);
         ProductDto productDto2 = new ProductDto();
         productDto2.setId(2L);
-        when(productRepository.findAll()).thenReturn(List.of(product1, product2));
+        when(productRepository.findViewsByOrderByIdAsc()).thenReturn(List.of(product1, product2));
         when(productMapper.toDto(product1)).thenReturn(productDto1);
         when(productMapper.toDto(product2)).thenReturn(productDto2);
 
@@ -199,17 +230,15 @@ class ProductServiceTests {
      */
     @Test
     void findAllProductsWithPagingSuccessfully() {
-        ProductEntity product1 = new ProductEntity();
-        product1.setId(1L);
-        ProductEntity product2 = new ProductEntity();
-        product2.setId(2L);
+        ProductView product1 = productView(1L);
+        ProductView product2 = productView(2L);
         ProductDto productDto1 = new ProductDto();
         productDto1.setId(1L);
         ProductDto productDto2 = new ProductDto();
         productDto2.setId(2L);
 
-        Page<ProductEntity> productPage = new PageImpl<>(List.of(product1, product2), PageRequest.of(0, 2), 2);
-        when(productRepository.findAll(any(Pageable.class))).thenReturn(productPage);
+        Page<ProductView> productPage = new PageImpl<>(List.of(product1, product2), PageRequest.of(0, 2), 2);
+        when(productRepository.findBy(any(Specification.class), any())).thenReturn(productPage);
         when(productMapper.toDto(product1)).thenReturn(productDto1);
         when(productMapper.toDto(product2)).thenReturn(productDto2);
 
@@ -231,8 +260,8 @@ class ProductServiceTests {
      */
     @Test
     void findAllProductsWithPagingEmptyPage() {
-        Page<ProductEntity> productPage = new PageImpl<>(Collections.emptyList(), PageRequest.of(0, 2), 0);
-        when(productRepository.findAll(any(Pageable.class))).thenReturn(productPage);
+        Page<ProductView> productPage = new PageImpl<>(Collections.emptyList(), PageRequest.of(0, 2), 0);
+        when(productRepository.findBy(any(Specification.class), any())).thenReturn(productPage);
 
         PagingDto<ProductDto> result = productService.findAllWithPaging(1, 2);
 
@@ -246,14 +275,179 @@ class ProductServiceTests {
         assertFalse(result.isHasNext());
     }
 
+    /**
+     * Tests the retrieval of products with pagination when the total count is omitted.
+     * Verifies that no count query is issued and the next page is taken from the slice.
+     */
+    @Test
+    void findAllProductsWithPagingWithoutCount() {
+        ProductView product = productView(1L);
+        ProductDto productDto = new ProductDto();
+        productDto.setId(1L);
+        when(productRepository.findBy(any(Specification.class), any())).thenReturn(new SliceImpl<>(List.of(product), PageRequest.of(0, 1), true));
+        when(productMapper.toDto(product)).thenReturn(productDto);
+
+        PagingDto<ProductDto> result = productService.findAllWithPaging(1, 1, CountMode.NONE);
+
+        assertEquals(1, result.getItems().size());
+        assertNull(result.getTotalCount());
+        assertNull(result.getTotalPages());
+        assertTrue(result.isHasNext());
+        assertEquals(CountMode.NONE, result.getCountMode());
+        verify(productRepository, never()).count();
+    }
+
+    /**
+     * Tests the retrieval of products with pagination when the total count is estimated.
+     * Verifies that the estimate from database statistics is used as the total count.
+     */
+    @Test
+    void findAllProductsWithPagingEstimatedCount() {
+        when(productRepository.findBy(any(Specification.class), any())).thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 10), false));
+        when(productRepository.estimateCount()).thenReturn(95L);
+
+        PagingDto<ProductDto> result = productService.findAllWithPaging(1, 10, CountMode.ESTIMATED);
+
+        assertEquals(95, result.getTotalCount());
+        assertEquals(10, result.getTotalPages());
+        verify(productRepository, never()).count();
+    }
+
+    /**
+     * Tests the retrieval of products with pagination when the table has no statistics yet.
+     * Verifies that the total count is omitted instead of being computed.
+     */
+    @Test
+    void findAllProductsWithPagingEstimatedCountUnavailable() {
+        when(productRepository.findBy(any(Specification.class), any())).thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 10), false));
+        when(productRepository.estimateCount()).thenReturn(-1L);
+
+        PagingDto<ProductDto> result = productService.findAllWithPaging(1, 10, CountMode.ESTIMATED);
+
+        assertNull(result.getTotalCount());
+        verify(productRepository, never()).count();
+    }
+
+    /**
+     * Tests the retrieval of products with pagination when the total count is cached.
+     * Verifies that the count query is issued only once for consecutive requests.
+     */
+    @Test
+    void findAllProductsWithPagingCachedCount() {
+        when(productRepository.findBy(any(Specification.class), any())).thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 10), false));
+        when(productRepository.count()).thenReturn(42L);
+
+        PagingDto<ProductDto> first = productService.findAllWithPaging(1, 10, CountMode.CACHED);
+        PagingDto<ProductDto> second = productService.findAllWithPaging(2, 10, CountMode.CACHED);
+
+        assertEquals(42, first.getTotalCount());
+        assertEquals(42, second.getTotalCount());
+        verify(productRepository, times(1)).count();
+    }
+
+    /**
+     * Tests the retrieval of filtered products with pagination when the total count is estimated.
+     * Verifies that the total count is omitted instead of being estimated for all products.
+     */
+    @Test
+    void findAllProductsWithPagingFilteredOmitsEstimatedCount() {
+        when(productRepository.findBy(any(Specification.class), any())).thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 10), false));
+        ProductFilterDto filter = new ProductFilterDto(new BigDecimal("10.00"), null, null);
+
+        PagingDto<ProductDto> result = productService.findAllWithPaging(1, 10, CountMode.ESTIMATED,
+                filter, ProductSortField.PRICE, Sort.Direction.ASC);
+
+        assertNull(result.getTotalCount());
+        assertEquals(CountMode.NONE, result.getCountMode());
+        verify(productRepository, never()).estimateCount();
+        verify(productRepository, never()).count();
+    }
+
     /**
      * Tests the retrieval of all products with pagination when the page number is invalid.
      * Verifies that the retrieved products are empty and pagination details are correct.
      */
     @Test
     void findAllProductsWithPagingInvalidPage() {
-        when(productRepository.findAll(any(Pageable.class))).thenReturn(Page.empty());
+        when(productRepository.findBy(any(Specification.class), any())).thenReturn(Page.empty());
         RuntimeException exception = assertThrows(IllegalArgumentException.class, () -> productService.findAllWithPaging(-1, 2));
         assertEquals("Page index must not be less than zero", exception.getMessage());
     }
+
+    /**
+     * Tests the successful search of products.
+     * Verifies that the ranked projections are mapped in their order and the paging details are correct.
+     */
+    @Test
+    void searchProductsSuccessfully() {
+        ProductView product1 = productView(7L);
+        ProductView product2 = productView(3L);
+        ProductDto productDto1 = new ProductDto();
+        productDto1.setId(7L);
+        ProductDto productDto2 = new ProductDto();
+        productDto2.setId(3L);
+        when(productRepository.search("laptop", PageRequest.of(1, 2))).thenReturn(new PageImpl<>(List.of(product1, product2), PageRequest.of(1, 2), 5));
+        when(productMapper.toDto(product1)).thenReturn(productDto1);
+        when(productMapper.toDto(product2)).thenReturn(productDto2);
+
+        PagingDto<ProductDto> result = productService.search("laptop", 2, 2);
+
+        assertEquals(List.of(productDto1, productDto2), result.getItems());
+        assertEquals(5, result.getTotalCount());
+        assertEquals(3, result.getTotalPages());
+        assertTrue(result.isHasPrevious());
+        assertTrue(result.isHasNext());
+    }
+
+    /**
+     * Tests the retrieval of products with keyset paging when more products follow the page.
+     * Verifies that the extra fetched row is dropped and the cursor points to the last returned product.
+     */
+    @Test
+    void findAllProductsAfterWithNextPage() {
+        ProductView product1 = productView(1L);
+        ProductView product2 = productView(2L);
+        ProductView product3 = productView(3L);
+        ProductDto productDto1 = new ProductDto();
+        productDto1.setId(1L);
+        ProductDto productDto2 = new ProductDto();
+        productDto2.setId(2L);
+        ProductDto productDto3 = new ProductDto();
+        productDto3.setId(3L);
+        when(productRepository.findViewsByOrderByIdAsc(Limit.of(3))).thenReturn(List.of(product1, product2, product3));
+        when(productMapper.toDto(product1)).thenReturn(productDto1);
+        when(productMapper.toDto(product2)).thenReturn(productDto2);
+        when(productMapper.toDto(product3)).thenReturn(productDto3);
+
+        CursorPagingDto<ProductDto> result = productService.findAllAfter(null, 2);
+
+        assertEquals(List.of(productDto1, productDto2), result.getItems());
+        assertTrue(result.isHasNext());
+        assertEquals(CursorCodec.encode(2L), result.getNextCursor());
+    }
+
+    /**
+     * Tests the retrieval of the last page of products with keyset paging.
+     * Verifies that no next cursor is returned.
+     */
+    @Test
+    void findAllProductsAfterLastPage() {
+        ProductView product = productView(5L);
+        ProductDto productDto = new ProductDto();
+        productDto.setId(5L);
+        when(productRepository.findViewsByIdGreaterThanOrderByIdAsc(4L, Limit.of(3))).thenReturn(List.of(product));
+        when(productMapper.toDto(product)).thenReturn(productDto);
+
+        CursorPagingDto<ProductDto> result = productService.findAllAfter(4L, 2);
+
+        assertEquals(1, result.getItems().size());
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
+    }
+
+    private ProductView productView(Long id) {
+        ProductView productView = mock(ProductView.class);
+        when(productView.getId()).thenReturn(id);
+        return productView;
+    }
 }
@@ -0,0 +1,254 @@
+package com.springapi.shopsample.service;
+
+import com.springapi.shopsample.dto.BulkDeleteResultDto;
+import com.springapi.shopsample.dto.CountMode;
+import com.springapi.shopsample.dto.PagingDto;
+import com.springapi.shopsample.dto.product.ProductDescriptionUpdateRequestDto;
+import com.springapi.shopsample.dto.product.ProductDto;
+import com.springapi.shopsample.dto.product.ProductFilterDto;
+import com.springapi.shopsample.dto.product.ProductSortField;
+import com.springapi.shopsample.entity.product.ProductEntity;
+import com.springapi.shopsample.exception.ResourceNotFoundException;
+import com.springapi.shopsample.repository.ProductRepository;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ProductServiceUpdateTests is a test class for the update, delete and read paths of ProductService.
+ * It runs against the embedded database with Hibernate statistics enabled
+ * and verifies the number of statements these paths send to the database.
+ * The catalog snapshot is mocked, so its background rebuilds do not add to the counted statements.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@AutoConfigureEmbeddedDatabase(
+        replace = AutoConfigureEmbeddedDatabase.Replace.ANY
+)
+class ProductServiceUpdateTests {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private ProductCatalogSnapshot catalogSnapshot;
+
+    private Statistics statistics;
+
+    /**
+     * Sets up the test environment before each test.
+     * Resets the Hibernate statistics.
+     */
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    /**
+     * Tests the update of an existing product.
+     * Verifies that it costs one select and one update, and that the columns not sent are kept.
+     */
+    @Test
+    void update_usesOneSelectAndOneUpdate() {
+        ProductEntity saved = saveProduct();
+        ProductDto dto = new ProductDto();
+        dto.setId(saved.getId());
+        dto.setName("Updated Product");
+        dto.setDescription(saved.getDescription());
+        dto.setPrice(new BigDecimal("20.00"));
+        dto.setImageUrl(saved.getImageUrl());
+        statistics.clear();
+
+        ProductDto updated = productService.update(dto).orElseThrow();
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getEntityLoadCount());
+        assertEquals(1, statistics.getEntityUpdateCount());
+        assertEquals("Updated Product", updated.getName());
+        ProductEntity reloaded = productRepository.findById(saved.getId()).orElseThrow();
+        assertEquals("Updated Product", reloaded.getName());
+        assertEquals("Original description", reloaded.getDescription());
+        assertEquals(saved.getCreatedOn().truncatedTo(ChronoUnit.MILLIS), reloaded.getCreatedOn().truncatedTo(ChronoUnit.MILLIS));
+        assertNotNull(reloaded.getUpdatedOn());
+    }
+
+    /**
+     * Tests the update of a missing product.
+     * Verifies that only the select is sent.
+     */
+    @Test
+    void update_missingProductUsesOneSelect() {
+        ProductDto dto = new ProductDto();
+        dto.setId(-1L);
+        dto.setName("Missing Product");
+
+        assertTrue(productService.update(dto).isEmpty());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityUpdateCount());
+    }
+
+    /**
+     * Tests the description update of an existing product.
+     * Verifies that it costs a single statement and returns the whole updated product.
+     */
+    @Test
+    void updateDescription_usesSingleStatement() {
+        ProductEntity saved = saveProduct();
+        ProductDescriptionUpdateRequestDto dto = new ProductDescriptionUpdateRequestDto();
+        dto.setDescription("New description");
+        statistics.clear();
+
+        ProductDto updated = productService.updateDescription(saved.getId(), dto).orElseThrow();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(saved.getId(), updated.getId());
+        assertEquals("Original Product", updated.getName());
+        assertEquals("New description", updated.getDescription());
+        assertEquals(0, new BigDecimal("10.00").compareTo(updated.getPrice()));
+        assertEquals("https://www.example.com/image.jpg", updated.getImageUrl());
+        ProductEntity reloaded = productRepository.findById(saved.getId()).orElseThrow();
+        assertEquals("New description", reloaded.getDescription());
+        assertNotNull(reloaded.getUpdatedOn());
+    }
+
+    /**
+     * Tests the description update of a missing product.
+     * Verifies that an empty Optional is returned.
+     */
+    @Test
+    void updateDescription_missingProductReturnsEmpty() {
+        ProductDescriptionUpdateRequestDto dto = new ProductDescriptionUpdateRequestDto();
+        dto.setDescription("New description");
+
+        assertTrue(productService.updateDescription(-1L, dto).isEmpty());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Tests the deletion of an existing product.
+     * Verifies that it costs a single statement.
+     */
+    @Test
+    void delete_usesSingleStatement() {
+        ProductEntity saved = saveProduct();
+        statistics.clear();
+
+        productService.delete(saved.getId());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertFalse(productRepository.existsById(saved.getId()));
+    }
+
+    /**
+     * Tests the deletion of a missing product.
+     * Verifies that a ResourceNotFoundException is thrown after a single statement.
+     */
+    @Test
+    void delete_missingProductThrowsResourceNotFound() {
+        assertThrows(ResourceNotFoundException.class, () -> productService.delete(-1L));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Tests the bulk deletion of existing and missing products.
+     * Verifies the counts of deleted and not found products.
+     */
+    @Test
+    void deleteAll_reportsDeletedAndNotFound() {
+        Long first = saveProduct().getId();
+        Long second = saveProduct().getId();
+
+        BulkDeleteResultDto result = productService.deleteAll(List.of(first, second, second, -1L));
+
+        assertEquals(3, result.getRequested());
+        assertEquals(2, result.getDeleted());
+        assertEquals(1, result.getNotFound());
+        assertEquals(0, productRepository.count());
+    }
+
+    /**
+     * Tests the read paths of an existing product.
+     * Verifies that they select projections and load no managed entity.
+     */
+    @Test
+    void reads_loadNoEntities() {
+        ProductEntity saved = saveProduct();
+        statistics.clear();
+
+        ProductDto found = productService.getById(saved.getId()).orElseThrow();
+        List<ProductDto> all = productService.findAll();
+        List<ProductDto> page = productService.findAllWithPaging(1, 10).getItems();
+        List<ProductDto> after = productService.findAllAfter(null, 10).getItems();
+
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals("Original description", found.getDescription());
+        assertEquals(saved.getImageUrl(), found.getImageUrl());
+        assertFalse(all.isEmpty());
+        assertFalse(page.isEmpty());
+        assertFalse(after.isEmpty());
+    }
+
+    /**
+     * Tests the filtered and sorted listing of products.
+     * Verifies that only the products in the price range are returned, sorted by price descending,
+     * and that the estimated count is omitted for a filtered listing.
+     */
+    @Test
+    void findAllWithPaging_filtersAndSorts() {
+        saveProduct("Filtered Product 1", "9001.00");
+        saveProduct("Filtered Product 3", "9003.00");
+        saveProduct("Filtered Product 2", "9002.00");
+        saveProduct("Unfiltered Product", "9500.00");
+        statistics.clear();
+
+        ProductFilterDto filter = new ProductFilterDto(new BigDecimal("9001.00"), new BigDecimal("9003.00"), null);
+        PagingDto<ProductDto> result = productService.findAllWithPaging(1, 10, CountMode.ESTIMATED,
+                filter, ProductSortField.PRICE, Sort.Direction.DESC);
+
+        assertEquals(List.of("Filtered Product 3", "Filtered Product 2", "Filtered Product 1"),
+                result.getItems().stream().map(ProductDto::getName).toList());
+        assertEquals(CountMode.NONE, result.getCountMode());
+        assertNull(result.getTotalCount());
+        assertFalse(result.isHasNext());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    private ProductEntity saveProduct(String name, String price) {
+        ProductEntity entity = new ProductEntity();
+        entity.setName(name);
+        entity.setPrice(new BigDecimal(price));
+        entity.setImageUrl("https://www.example.com/image.jpg");
+        return productRepository.save(entity);
+    }
+
+    private ProductEntity saveProduct() {
+        ProductEntity entity = new ProductEntity();
+        entity.setName("Original Product");
+        entity.setDescription("Original description");
+        entity.setPrice(new BigDecimal("10.00"));
+        entity.setImageUrl("https://www.example.com/image.jpg");
+        return productRepository.save(entity);
+    }
+}